@@ -1,3 +1,7 @@
+import groovy.json.JsonSlurper
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+
 plugins {
     alias(libs.plugins.android.application)
 }
@@ -32,6 +36,123 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    androidResources {
+        // Keep the binary job catalog uncompressed so it can be memory-mapped
+        noCompress += "bin"
+    }
+}
+
+/**
+ * Converts assets/job_listings.json into the compact binary catalog read by
+ * BinaryJobCatalog: an offset table, length-prefixed UTF-8 fields and a shared
+ * skill table that records refer to by index.
+ * Keep the record layout in sync with BinaryJobCatalog.
+ */
+abstract class GenerateJobCatalogTask : DefaultTask() {
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val catalogJson: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        @Suppress("UNCHECKED_CAST")
+        val jobs = JsonSlurper().parse(catalogJson.get().asFile, "UTF-8") as List<Map<String, Any?>>
+        val skillTable = LinkedHashMap<String, Int>()
+        val records = jobs.map { encodeRecord(it, skillTable) }
+
+        val output = outputDir.get().file(CATALOG_FILE).asFile
+        output.parentFile.mkdirs()
+        DataOutputStream(output.outputStream().buffered()).use { out ->
+            out.write("SPJC".toByteArray(Charsets.US_ASCII))
+            out.writeInt(VERSION)
+            out.writeInt(records.size)
+            var offset = 16 + 4 * records.size
+            out.writeInt(offset + records.sumOf { it.size })
+            for (record in records) {
+                out.writeInt(offset)
+                offset += record.size
+            }
+            records.forEach { out.write(it) }
+            out.writeInt(skillTable.size)
+            skillTable.keys.forEach { writeString(out, it) }
+        }
+        logger.lifecycle("Wrote ${records.size} jobs to $output")
+    }
+
+    private fun encodeRecord(job: Map<String, Any?>, skillTable: MutableMap<String, Int>): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { out ->
+            out.writeInt((job["id"] as Number).toInt())
+            writeString(out, job["jobTitle"])
+            writeString(out, job["company"])
+            writeString(out, job["description"])
+            writeStringList(out, job["responsibilities"])
+            writeStringList(out, job["qualifications"])
+            val skills = job["skills"] as List<*>?
+            if (skills == null) {
+                out.writeInt(-1)
+            } else {
+                out.writeInt(skills.size)
+                skills.forEach { out.writeInt(skillTable.getOrPut(it.toString()) { skillTable.size }) }
+            }
+            for (field in listOf("location", "employmentType", "experienceLevel", "remote",
+                    "salaryRange", "datePosted", "validThrough")) {
+                writeString(out, job[field])
+            }
+        }
+        return bytes.toByteArray()
+    }
+
+    private fun writeString(out: DataOutputStream, value: Any?) {
+        if (value == null) {
+            out.writeInt(-1)
+            return
+        }
+        val utf8 = value.toString().toByteArray(Charsets.UTF_8)
+        out.writeInt(utf8.size)
+        out.write(utf8)
+    }
+
+    private fun writeStringList(out: DataOutputStream, value: Any?) {
+        if (value == null) {
+            out.writeInt(-1)
+            return
+        }
+        val items = value as List<*>
+        out.writeInt(items.size)
+        items.forEach { writeString(out, it) }
+    }
+
+    companion object {
+        const val CATALOG_FILE = "job_catalog.bin"
+        const val VERSION = 2
+    }
+}
+
+val jobCatalogJson = layout.projectDirectory.file("src/main/assets/job_listings.json")
+val jobCatalogDir = layout.buildDirectory.dir("generated/jobCatalog")
+
+val generateJobCatalog = tasks.register<GenerateJobCatalogTask>("generateJobCatalog") {
+    catalogJson.set(jobCatalogJson)
+    outputDir.set(jobCatalogDir)
+}
+
+android.sourceSets.getByName("main").assets.srcDir(jobCatalogDir)
+tasks.named("preBuild") {
+    dependsOn(generateJobCatalog)
+}
+
+// JVM tests compare the generated catalog against its JSON source. Benchmarks in src/test
+// are skipped unless the build is run with -Pbenchmarks.
+tasks.withType<Test>().configureEach {
+    dependsOn(generateJobCatalog)
+    systemProperty("starplan.benchmarks", providers.gradleProperty("benchmarks").isPresent)
+    systemProperty("starplan.catalogJson", jobCatalogJson.asFile.absolutePath)
+    systemProperty("starplan.catalogBin",
+        jobCatalogDir.get().file(GenerateJobCatalogTask.CATALOG_FILE).asFile.absolutePath)
 }
 
 dependencies {
@@ -48,6 +169,7 @@ dependencies {
     implementation(libs.navigation.ui)
     implementation("com.squareup.okhttp3:okhttp:5.1.0")
     testImplementation(libs.junit)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
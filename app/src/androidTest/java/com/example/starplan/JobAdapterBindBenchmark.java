@@ -0,0 +1,71 @@
+package com.example.starplan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.os.Debug;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.google.android.material.chip.Chip;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Counts allocations made by JobAdapter.onBindViewHolder on the main thread, rebinding one
+ * holder to a page of real catalog jobs the way RecyclerView does while scrolling.
+ * Results are printed to logcat under the "JobAdapterBind" tag, and the test fails if a bind
+ * allocates more than MAX_ALLOCATIONS_PER_BIND objects.
+ */
+@RunWith(AndroidJUnit4.class)
+public class JobAdapterBindBenchmark {
+    private static final String TAG = "JobAdapterBind";
+    private static final int WARMUP_BINDS = 200;
+    private static final int MEASURED_BINDS = 2000;
+    // Binding only sets precomputed values, so this leaves room for an occasional framework
+    // allocation; a boxed key, chip, listener or string built per bind trips the check
+    private static final double MAX_ALLOCATIONS_PER_BIND = 2;
+
+    // Debug's allocation counters are deprecated but remain the only per-thread count on device
+    @SuppressWarnings("deprecation")
+    @Test
+    public void countAllocationsPerBind() throws Exception {
+        Context target = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        List<Job> jobs = JobRepository.getInstance(target).getPage(0, 50);
+        Context context = new ContextThemeWrapper(target, R.style.Theme_StarPlan);
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            JobAdapter adapter = new JobAdapter(context, jobs);
+            JobAdapter.JobViewHolder holder = adapter.onCreateViewHolder(new FrameLayout(context), 0);
+            Chip firstChip = holder.skillChips[0];
+
+            for (int i = 0; i < WARMUP_BINDS; i++) {
+                adapter.onBindViewHolder(holder, i % jobs.size());
+            }
+
+            Debug.startAllocCounting();
+            Debug.resetThreadAllocCount();
+            for (int i = 0; i < MEASURED_BINDS; i++) {
+                adapter.onBindViewHolder(holder, i % jobs.size());
+            }
+            int allocations = Debug.getThreadAllocCount();
+            Debug.stopAllocCounting();
+
+            double perBind = allocations / (double) MEASURED_BINDS;
+            Log.i(TAG, String.format(Locale.US, "%d binds, %d allocations, %.2f per bind",
+                    MEASURED_BINDS, allocations, perBind));
+            assertTrue(String.format(Locale.US, "%.2f allocations per bind", perBind),
+                    perBind < MAX_ALLOCATIONS_PER_BIND);
+
+            // Chips are created with the holder and only re-labelled on bind
+            assertSame(firstChip, holder.skillChips[0]);
+            assertEquals(JobAdapter.MAX_SKILL_CHIPS, holder.skillsChipGroup.getChildCount());
+        });
+    }
+}
@@ -2,36 +2,40 @@ package com.example.starplan;
 
 import android.content.Context;
 import android.content.Intent;
+import android.database.Cursor;
 import android.net.Uri;
-import android.os.Handler;
-import android.os.Looper;
+import android.provider.OpenableColumns;
+import android.util.Log;
 import android.widget.Toast;
 
+import com.google.gson.JsonObject;
 import okhttp3.*;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 public class ApiService {
+    private static final String TAG = "ApiService";
     
-    private static final String BASE_URL = "http://10.0.2.2:5000"; // Standard emulator mappingo
-    // Alternative URLs if this doesn't work:
-    // private static final String BASE_URL = "http://192.168.4.22:5000"; // Your computer's IP
-    // private static final String BASE_URL = "http://192.168.56.1:5000"; // VirtualBox network
+    private static final String BASE_URL = HttpClient.BASE_URL;
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
-    private static final MediaType PDF = MediaType.get("application/pdf");
+    // Process-wide so requests from different screens and ApiService instances coalesce
+    private static final SingleFlight<File> GENERATIONS = new SingleFlight<>();
+    private static final SingleFlight<JSONObject> FEEDBACK = new SingleFlight<>();
     
     private OkHttpClient client;
     private Context context;
     
     public ApiService(Context context) {
         this.context = context;
-        this.client = new OkHttpClient.Builder()
-            .connectTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-            .readTimeout(60, java.util.concurrent.TimeUnit.SECONDS)
-            .writeTimeout(60, java.util.concurrent.TimeUnit.SECONDS)
-            .build();
+        // Shared client, so every ApiService reuses the same pooled connections
+        this.client = HttpClient.get(context);
     }
     
     public interface ApiCallback {
@@ -44,27 +48,77 @@ public class ApiService {
         void onError(String error);
     }
     
+    public interface ProgressCallback {
+        void onProgress(int percent);
+    }
+    
+    public interface JsonCallback {
+        void onSuccess(JSONObject json);
+        void onError(String error);
+        default void onPartial(JSONObject json) {}
+    }
+    
+    public interface BatchFeedbackCallback {
+        void onResult(int jobId, JSONObject json);
+        void onJobError(int jobId, String error);
+        void onComplete();
+        void onError(String error);
+    }
+    
+    public interface BatchHandle {
+        void cancel();
+    }
+    
     /**
      * Generate resume from JSON data
      */
-    public void generateResume(String resumeData, FileCallback callback) {
-        System.out.println("=== ANDROID API CALL ===");
-        System.out.println("URL: " + BASE_URL + "/generate_resume");
-        System.out.println("Data: " + resumeData);
-        
+    public SingleFlight.Subscription generateResume(String resumeData, FileCallback callback) {
+        return generateResume(resumeData, callback, null);
+    }
+    
+    /**
+     * Generate resume from JSON data, reporting download progress on the UI thread as a
+     * percentage once the server starts sending the file (-1 if its size is unknown).
+     * Identical requests made while one is running share its result instead of generating
+     * again; cancelling the returned subscription stops listening, and the request itself
+     * is cancelled when nobody is listening any more.
+     */
+    public SingleFlight.Subscription generateResume(String resumeData, FileCallback callback,
+                                                    ProgressCallback progressCallback) {
+        String key = "generate_resume:" + Sha256.hex(Sha256.newDigest().digest(resumeData.getBytes(StandardCharsets.UTF_8)));
+        return GENERATIONS.join(key, flight -> startGeneration(resumeData, flight), new SingleFlight.Subscriber<File>() {
+            @Override
+            public void onSuccess(File file) {
+                callback.onSuccess(file);
+            }
+            
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+            
+            @Override
+            public void onProgress(int percent) {
+                if (progressCallback != null) progressCallback.onProgress(percent);
+            }
+        });
+    }
+    
+    private Call startGeneration(String resumeData, SingleFlight<File>.Flight flight) {
+        Log.d(TAG, "Requesting resume generation from " + BASE_URL + "/generate_resume");
+
         RequestBody body = RequestBody.create(resumeData, JSON);
         Request request = new Request.Builder()
             .url(BASE_URL + "/generate_resume")
             .post(body)
             .build();
             
-        client.newCall(request).enqueue(new Callback() {
+        Call generation = client.newCall(request);
+        generation.enqueue(new Callback() {
             @Override
             public void onFailure(Call call, IOException e) {
-                System.out.println("=== NETWORK FAILURE ===");
-                System.out.println("Error: " + e.getMessage());
-                e.printStackTrace();
-                runOnUiThread(() -> callback.onError(getUserFriendlyError("network")));
+                Log.e(TAG, "Resume generation request failed", e);
+                runOnUiThread(() -> flight.fail(getUserFriendlyError("network")));
             }
             
             @Override
@@ -77,92 +131,372 @@ public class ApiService {
                         String filename = "generated_resume_" + timestamp + ".pdf";
                         
                         // Save downloaded file
-                        File resumeFile = saveResponseToFile(response, filename);
-                        runOnUiThread(() -> callback.onSuccess(resumeFile));
+                        File resumeFile = saveResponseToFile(response, filename, downloadProgress(flight::progress));
+                        runOnUiThread(() -> flight.succeed(resumeFile));
                     } catch (Exception e) {
-                        runOnUiThread(() -> callback.onError(getUserFriendlyError("save_file")));
+                        runOnUiThread(() -> flight.fail(getUserFriendlyError("save_file")));
                     }
                 } else {
                     String errorMsg = response.code() >= 500 ? "server" : "generation";
-                    runOnUiThread(() -> callback.onError(getUserFriendlyError(errorMsg)));
+                    runOnUiThread(() -> flight.fail(getUserFriendlyError(errorMsg)));
                 }
                 response.close();
             }
         });
+        return generation;
     }
     
     /**
-     * Upload PDF file
+     * Get feedback on a resume for a job. The response is streamed, and
+     * {@link JsonCallback#onPartial} receives the feedback received so far (in the same
+     * shape as the final result) each time another score arrives. Requests for the same
+     * resume content and job that overlap share one server call. Successful responses are
+     * also written to {@link FeedbackCache}; if every caller cancels first, the shared call
+     * is cancelled with them and nothing is cached. Only the resume's hash is sent at first;
+     * the file itself is uploaded only when the server has no parsed copy of it.
      */
-    public void uploadPdf(Uri fileUri, ApiCallback callback) {
-        try {
-            InputStream inputStream = context.getContentResolver().openInputStream(fileUri);
-            if (inputStream == null) {
-                callback.onError(getUserFriendlyError("file_read"));
-                return;
-            }
-            
-            // Read file into byte array
-            byte[] fileBytes = inputStream.readAllBytes();
-            inputStream.close();
-            
-            RequestBody fileBody = RequestBody.create(fileBytes, PDF);
-            MultipartBody requestBody = new MultipartBody.Builder()
-                .setType(MultipartBody.FORM)
-                .addFormDataPart("resume", "uploaded_resume.pdf", fileBody)
-                .build();
-                
-            Request request = new Request.Builder()
-                .url(BASE_URL + "/upload")
-                .post(requestBody)
-                .build();
+    public SingleFlight.Subscription getFeedback(File resumeFile, String resumeHash, int jobId, JsonCallback callback) {
+        String key = "get_feedback:" + resumeHash + ":" + jobId;
+        return FEEDBACK.join(key, flight -> startFeedback(resumeFile, resumeHash, jobId, flight),
+            new SingleFlight.Subscriber<JSONObject>() {
+                @Override
+                public void onSuccess(JSONObject value) {
+                    callback.onSuccess(value);
+                }
                 
-            client.newCall(request).enqueue(new Callback() {
                 @Override
-                public void onFailure(Call call, IOException e) {
-                    runOnUiThread(() -> callback.onError(getUserFriendlyError("network")));
+                public void onError(String error) {
+                    callback.onError(error);
                 }
                 
                 @Override
-                public void onResponse(Call call, Response response) throws IOException {
-                    if (response.isSuccessful()) {
-                        runOnUiThread(() -> callback.onSuccess("Resume uploaded successfully!"));
-                    } else {
-                        String errorType = response.code() == 400 ? "invalid_pdf" : "server";
-                        runOnUiThread(() -> callback.onError(getUserFriendlyError(errorType)));
-                    }
-                    response.close();
+                public void onPartial(JSONObject value) {
+                    callback.onPartial(value);
                 }
             });
-            
-        } catch (Exception e) {
-            callback.onError(getUserFriendlyError("file_read"));
+    }
+    
+    private Call startFeedback(File resumeFile, String resumeHash, int jobId, SingleFlight<JSONObject>.Flight flight) {
+        // The hash is tried first; the file is only uploaded if the server has not seen it
+        Call feedback = client.newCall(feedbackRequest(null, resumeHash, jobId));
+        feedback.enqueue(feedbackCallback(resumeFile, resumeHash, jobId, flight));
+        return feedback;
+    }
+    
+    private Request feedbackRequest(File resumeFile, String resumeHash, int jobId) {
+        MultipartBody.Builder requestBody = new MultipartBody.Builder()
+            .setType(MultipartBody.FORM)
+            .addFormDataPart("job_id", String.valueOf(jobId));
+        if (resumeFile != null) {
+            requestBody.addFormDataPart("resume", resumeFile.getName(),
+                RequestBody.create(resumeFile, MediaType.parse("application/octet-stream"))); // Use octet-stream for generic file
+        } else {
+            requestBody.addFormDataPart("resume_hash", resumeHash);
         }
+        
+        return new Request.Builder()
+            .url(BASE_URL + "/get_feedback/stream")
+            .post(requestBody.build())
+            .build();
+    }
+    
+    // resumeFile is null once the file has been sent, so an unknown resume is not retried again
+    private Callback feedbackCallback(File resumeFile, String resumeHash, int jobId,
+                                      SingleFlight<JSONObject>.Flight flight) {
+        return new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                runOnUiThread(() -> flight.fail(getUserFriendlyError("network")));
+            }
+            
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                // Closing the response hands its connection back to the shared pool
+                try (response) {
+                    if (resumeFile != null && isResumeUnknown(response)) {
+                        Call upload = client.newCall(feedbackRequest(resumeFile, resumeHash, jobId));
+                        if (flight.attach(upload)) {
+                            upload.enqueue(feedbackCallback(null, resumeHash, jobId, flight));
+                        }
+                        return;
+                    }
+                    if (!response.isSuccessful() || response.body() == null) {
+                        String errorType = response.code() >= 500 ? "server" : "feedback";
+                        runOnUiThread(() -> flight.fail(getUserFriendlyError(errorType)));
+                        return;
+                    }
+                    JsonObject complete = FeedbackStream.read(response.body().charStream(), soFar -> {
+                        JSONObject partial = toJson(soFar);
+                        if (partial != null) runOnUiThread(() -> flight.partial(partial));
+                    });
+                    JSONObject result = toJson(complete);
+                    if (result == null) {
+                        runOnUiThread(() -> flight.fail(getUserFriendlyError("feedback")));
+                        return;
+                    }
+                    FeedbackCache.save(context, resumeHash, jobId, result);
+                    runOnUiThread(() -> flight.succeed(result));
+                } catch (IOException e) {
+                    // Covers a dropped stream and an error event from the server
+                    runOnUiThread(() -> flight.fail(getUserFriendlyError(
+                        e instanceof FeedbackStream.StreamErrorException ? "server" : "network")));
+                }
+            }
+        };
     }
     
     /**
-     * Save response to internal storage
+     * Score one resume against several jobs. /get_feedback/batch scores it against every job
+     * in parallel on the server; the resume is referred to by its hash and only uploaded to
+     * /resumes (once) if the server does not have it yet. Each job's
+     * feedback is delivered on the UI thread as soon as it is ready, in whatever order they
+     * finish, and saved to {@link FeedbackCache} so opening that job's feedback is instant.
+     * Nothing is delivered after the returned handle is cancelled.
      */
-    private File saveResponseToFile(Response response, String filename) throws IOException {
-        File resumesDir = new File(context.getFilesDir(), "resumes");
-        if (!resumesDir.exists()) {
-            resumesDir.mkdirs();
+    public BatchHandle getBatchFeedback(File resumeFile, String resumeHash, List<Integer> jobIds,
+                                        BatchFeedbackCallback callback) {
+        BatchRequest batch = new BatchRequest(callback);
+        // The hash is tried first; the file is only uploaded if the server has not seen it
+        startBatchFeedback(resumeFile, resumeHash, jobIds, batch, true);
+        return batch;
+    }
+    
+    private void uploadResumeForBatch(File resumeFile, String resumeHash, List<Integer> jobIds, BatchRequest batch) {
+        BatchFeedbackCallback callback = batch.callback;
+        RequestBody requestBody = new MultipartBody.Builder()
+            .setType(MultipartBody.FORM)
+            .addFormDataPart("resume", resumeFile.getName(),
+                RequestBody.create(resumeFile, MediaType.parse("application/octet-stream")))
+            .build();
+        
+        Request request = new Request.Builder()
+            .url(BASE_URL + "/resumes")
+            .post(requestBody)
+            .build();
+        
+        batch.enqueue(client.newCall(request), new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                batch.post(() -> callback.onError(getUserFriendlyError("network")));
+            }
+            
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                try (response) {
+                    if (!response.isSuccessful() || response.body() == null) {
+                        String errorType = response.code() >= 500 ? "server" : "feedback";
+                        batch.post(() -> callback.onError(getUserFriendlyError(errorType)));
+                        return;
+                    }
+                }
+                startBatchFeedback(resumeFile, resumeHash, jobIds, batch, false);
+            }
+        });
+    }
+    
+    private void startBatchFeedback(File resumeFile, String resumeHash, List<Integer> jobIds,
+                                    BatchRequest batch, boolean uploadIfUnknown) {
+        BatchFeedbackCallback callback = batch.callback;
+        JSONObject json = new JSONObject();
+        try {
+            // The server's resume_id is the SHA-256 of the file, the same as resumeHash
+            json.put("resume_id", resumeHash);
+            json.put("job_ids", new JSONArray(jobIds));
+        } catch (JSONException e) {
+            batch.post(() -> callback.onError(getUserFriendlyError("feedback")));
+            return;
         }
         
-        File file = new File(resumesDir, filename);
-        FileOutputStream fos = new FileOutputStream(file);
+        Request request = new Request.Builder()
+            .url(BASE_URL + "/get_feedback/batch")
+            .post(RequestBody.create(json.toString(), JSON))
+            .build();
         
-        InputStream is = response.body().byteStream();
-        byte[] buffer = new byte[4096];
-        int bytesRead;
-        while ((bytesRead = is.read(buffer)) != -1) {
-            fos.write(buffer, 0, bytesRead);
+        batch.enqueue(client.newCall(request), new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                batch.post(() -> callback.onError(getUserFriendlyError("network")));
+            }
+            
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                try (response) {
+                    if (uploadIfUnknown && isResumeUnknown(response)) {
+                        uploadResumeForBatch(resumeFile, resumeHash, jobIds, batch);
+                        return;
+                    }
+                    if (!response.isSuccessful() || response.body() == null) {
+                        String errorType = response.code() >= 500 ? "server" : "feedback";
+                        batch.post(() -> callback.onError(getUserFriendlyError(errorType)));
+                        return;
+                    }
+                    FeedbackStream.readBatch(response.body().charStream(), new FeedbackStream.BatchListener() {
+                        @Override
+                        public void onResult(int jobId, JsonObject feedback) {
+                            JSONObject result = toJson(feedback);
+                            if (result == null) {
+                                batch.post(() -> callback.onJobError(jobId, getUserFriendlyError("feedback")));
+                                return;
+                            }
+                            FeedbackCache.save(context, resumeHash, jobId, result);
+                            batch.post(() -> callback.onResult(jobId, result));
+                        }
+                        
+                        @Override
+                        public void onJobError(int jobId, String error) {
+                            batch.post(() -> callback.onJobError(jobId, getUserFriendlyError("feedback")));
+                        }
+                    });
+                    batch.post(callback::onComplete);
+                } catch (IOException e) {
+                    batch.post(() -> callback.onError(getUserFriendlyError(
+                        e instanceof FeedbackStream.StreamErrorException ? "server" : "network")));
+                }
+            }
+        });
+    }
+    
+    // The chain of calls behind one batch; cancelling stops the current call and any delivery
+    private class BatchRequest implements BatchHandle {
+        final BatchFeedbackCallback callback;
+        private volatile boolean cancelled;
+        private Call current;
+        
+        BatchRequest(BatchFeedbackCallback callback) {
+            this.callback = callback;
         }
         
-        fos.close();
-        is.close();
+        void enqueue(Call call, Callback responseCallback) {
+            synchronized (this) {
+                current = call;
+            }
+            if (cancelled) {
+                call.cancel();
+                return;
+            }
+            call.enqueue(responseCallback);
+        }
+        
+        void post(Runnable delivery) {
+            runOnUiThread(() -> {
+                if (!cancelled) delivery.run();
+            });
+        }
         
-        return file;
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Call call;
+            synchronized (this) {
+                call = current;
+            }
+            if (call != null) call.cancel();
+        }
+    }
+    
+    /**
+     * Upload a PDF through the resumable chunked protocol. A dropped connection only costs
+     * the chunk in flight, and re-uploading the same file after a failure continues from
+     * what the server already has. Progress is reported on the UI thread as a percentage.
+     */
+    public void uploadPdfChunked(Uri fileUri, ApiCallback callback, ProgressCallback progressCallback) {
+        ChunkedUploader uploader = new ChunkedUploader(client, BASE_URL);
+        ChunkedUploader.StreamOpener opener = () -> {
+            InputStream in = context.getContentResolver().openInputStream(fileUri);
+            if (in == null) throw new FileNotFoundException("Cannot open " + fileUri);
+            return in;
+        };
+        // Hashing the file is CPU work; the upload then blocks on the network while it retries.
+        // Both are low priority so screens loading data are not queued behind them.
+        TaskRunner.execute(TaskRunner.Pool.CPU, TaskRunner.Priority.LOW, () -> {
+            ChunkedUploader.Fingerprint fingerprint;
+            try {
+                fingerprint = ChunkedUploader.fingerprint(opener);
+            } catch (IOException e) {
+                reportUploadError(e, callback);
+                return;
+            }
+            TaskRunner.execute(TaskRunner.Pool.IO, TaskRunner.Priority.LOW, () -> {
+                try {
+                    uploader.upload(opener, fingerprint, displayName(fileUri), (bytesAcknowledged, totalBytes) -> {
+                        if (progressCallback != null && totalBytes > 0) {
+                            int percent = (int) (bytesAcknowledged * 100 / totalBytes);
+                            runOnUiThread(() -> progressCallback.onProgress(percent));
+                        }
+                    });
+                    runOnUiThread(() -> callback.onSuccess("Resume uploaded successfully!"));
+                } catch (IOException e) {
+                    reportUploadError(e, callback);
+                }
+            });
+        });
+    }
+    
+    private void reportUploadError(IOException e, ApiCallback callback) {
+        String errorType;
+        if (e instanceof FileNotFoundException) {
+            errorType = "file_read";
+        } else if (e instanceof ChunkedUploader.UploadRejectedException) {
+            errorType = ((ChunkedUploader.UploadRejectedException) e).getCode() == 400 ? "invalid_pdf" : "server";
+        } else {
+            errorType = "network";
+        }
+        runOnUiThread(() -> callback.onError(getUserFriendlyError(errorType)));
+    }
+    
+    /**
+     * Name the document provider shows for the file, so the server stores it under that name
+     */
+    private String displayName(Uri fileUri) {
+        try (Cursor cursor = context.getContentResolver().query(
+                fileUri, new String[] {OpenableColumns.DISPLAY_NAME}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getString(0);
+            }
+        } catch (RuntimeException e) {
+            // Some providers do not answer metadata queries; fall back to the old fixed name
+        }
+        return "uploaded_resume.pdf";
+    }
+    
+    /**
+     * Save response to internal storage
+     */
+    private File saveResponseToFile(Response response, String filename,
+                                    FileDownloader.ProgressListener listener) throws IOException {
+        File resumesDir = new File(context.getFilesDir(), "resumes");
+        return FileDownloader.download(response.body(), resumesDir, filename, listener);
+    }
+    
+    // The server answers 404 with resume_unknown when it holds no text for a resume hash
+    private static boolean isResumeUnknown(Response response) throws IOException {
+        if (response.code() != 404 || response.body() == null) return false;
+        try {
+            return new JSONObject(response.body().string()).optBoolean("resume_unknown");
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+    
+    private static JSONObject toJson(JsonObject json) {
+        try {
+            return new JSONObject(json.toString());
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+    
+    // Posts a UI update only when the whole percentage changes
+    private FileDownloader.ProgressListener downloadProgress(ProgressCallback progressCallback) {
+        if (progressCallback == null) return null;
+        int[] lastPercent = {Integer.MIN_VALUE};
+        return (bytesRead, contentLength) -> {
+            int percent = contentLength > 0 ? (int) (bytesRead * 100 / contentLength) : -1;
+            if (percent != lastPercent[0]) {
+                lastPercent[0] = percent;
+                runOnUiThread(() -> progressCallback.onProgress(percent));
+            }
+        };
     }
     
     /**
@@ -182,6 +516,8 @@ public class ApiService {
                 return "Unable to read the selected file. Please try again.";
             case "save_file":
                 return "Error saving resume. Please try again.";
+            case "feedback":
+                return "Failed to get feedback. Please try again.";
             default:
                 return "An unexpected error occurred. Please try again.";
         }
@@ -191,6 +527,6 @@ public class ApiService {
      * Run on UI thread helper
      */
     private void runOnUiThread(Runnable runnable) {
-        new Handler(Looper.getMainLooper()).post(runnable);
+        TaskRunner.postToMain(runnable);
     }
 }
@@ -0,0 +1,28 @@
+package com.example.starplan;
+
+import android.content.res.ColorStateList;
+import android.graphics.Color;
+
+/**
+ * Company avatar colours, resolved once for the whole app. They are kept as ColorStateLists
+ * because CardView.setCardBackgroundColor(int) wraps the colour in a new one on every call.
+ */
+public final class AvatarPalette {
+    private static final String[] COLORS = {"#5E6BFF", "#FF6B6B", "#4ECDC4", "#45B7D1", "#96CEB4", "#FECA57"};
+    private static final ColorStateList[] PALETTE = new ColorStateList[COLORS.length];
+
+    static {
+        for (int i = 0; i < COLORS.length; i++) {
+            PALETTE[i] = ColorStateList.valueOf(Color.parseColor(COLORS[i]));
+        }
+    }
+
+    private AvatarPalette() {}
+
+    /**
+     * Keyed on the job rather than a list position, so a job keeps its colour everywhere.
+     */
+    public static ColorStateList colorFor(int jobId) {
+        return PALETTE[Math.abs(jobId % PALETTE.length)];
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.starplan;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader for the compact binary job catalog generated at build time from
+ * assets/job_listings.json (see the generateJobCatalog task in app/build.gradle.kts).
+ *
+ * Layout, all integers big-endian:
+ * <pre>
+ *   "SPJC"  int version  int count  int skillTableOffset
+ *   int[count] record offsets from the start of the file
+ *   records: int id, then jobTitle, company, description (strings),
+ *            responsibilities, qualifications (string lists),
+ *            skills (int size, -1 for null, + skill table indexes),
+ *            location, employmentType, experienceLevel, remote,
+ *            salaryRange, datePosted, validThrough (strings)
+ *   skill table: int size + strings, each distinct skill name once
+ *   string = int byteLength (-1 for null) + UTF-8 bytes
+ *   list   = int size (-1 for null) + strings
+ * </pre>
+ * The skill table is interned into {@link SkillDictionary} when the catalog is opened;
+ * records are decoded lazily by index, so nothing else is parsed until a job is asked for.
+ */
+public class BinaryJobCatalog {
+    public static final String ASSET_NAME = "job_catalog.bin";
+    public static final int VERSION = 2;
+    private static final byte[] MAGIC = {'S', 'P', 'J', 'C'};
+    private static final int HEADER_SIZE = 16;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    // Skill table index -> SkillDictionary id
+    private final int[] skillIds;
+    private Map<Integer, Integer> indexById;
+
+    public BinaryJobCatalog(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE) throw new IOException("Job catalog is truncated");
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) throw new IOException("Not a job catalog file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) throw new IOException("Unsupported job catalog version " + version);
+        this.count = buffer.getInt(8);
+        if (count < 0 || HEADER_SIZE + 4L * count > buffer.limit()) {
+            throw new IOException("Job catalog offset table is truncated");
+        }
+        this.skillIds = readSkillTable(buffer.getInt(12));
+    }
+
+    /**
+     * Opens the catalog from assets, memory-mapping it when the asset is stored
+     * uncompressed and falling back to reading it into memory otherwise.
+     */
+    public static BinaryJobCatalog open(Context context) throws IOException {
+        try (AssetFileDescriptor afd = context.getAssets().openFd(ASSET_NAME);
+             FileInputStream fis = afd.createInputStream()) {
+            FileChannel channel = fis.getChannel();
+            return new BinaryJobCatalog(channel.map(
+                    FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength()));
+        } catch (FileNotFoundException e) {
+            // openFd() fails for compressed assets; the asset itself may still exist
+            try (InputStream in = context.getAssets().open(ASSET_NAME)) {
+                return read(in);
+            }
+        }
+    }
+
+    /**
+     * Reads a whole catalog stream into memory.
+     */
+    public static BinaryJobCatalog read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        byte[] chunk = new byte[16 * 1024];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        return new BinaryJobCatalog(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Id of the job at {@code index}, without decoding the rest of the record.
+     */
+    public int idAt(int index) {
+        return buffer.getInt(offsetOf(index));
+    }
+
+    /**
+     * Position of the job with the given id, or -1. The id table is built on first use.
+     */
+    public synchronized int indexOfId(int id) {
+        if (indexById == null) {
+            Map<Integer, Integer> index = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                index.put(idAt(i), i);
+            }
+            indexById = index;
+        }
+        Integer index = indexById.get(id);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Decodes the job at {@code index}. Safe to call from several threads.
+     */
+    public Job get(int index) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(offsetOf(index));
+
+        Job job = new Job();
+        job.id = in.getInt();
+        job.jobTitle = readString(in);
+        job.company = readString(in);
+        job.description = readString(in);
+        job.responsibilities = readStringList(in);
+        job.qualifications = readStringList(in);
+        job.skillIds = readSkillIds(in);
+        job.location = readString(in);
+        job.employmentType = readString(in);
+        job.experienceLevel = readString(in);
+        job.remote = readString(in);
+        job.salaryRange = readString(in);
+        job.datePosted = readString(in);
+        job.validThrough = readString(in);
+        job.parseDates();
+        return job;
+    }
+
+    private int offsetOf(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Job index " + index + " of " + count);
+        }
+        return buffer.getInt(HEADER_SIZE + 4 * index);
+    }
+
+    private int[] readSkillTable(int offset) throws IOException {
+        if (offset < HEADER_SIZE || offset > buffer.limit() - 4) {
+            throw new IOException("Job catalog skill table is truncated");
+        }
+        ByteBuffer in = buffer.duplicate();
+        in.position(offset);
+        int size = in.getInt();
+        SkillDictionary dictionary = SkillDictionary.shared();
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = dictionary.intern(readString(in));
+        }
+        return ids;
+    }
+
+    private int[] readSkillIds(ByteBuffer in) {
+        int size = in.getInt();
+        if (size < 0) return null;
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = skillIds[in.getInt()];
+        }
+        return ids;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        if (in.hasArray()) {
+            // Heap buffer: decode in place without an intermediate copy
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStringList(ByteBuffer in) {
+        int size = in.getInt();
+        if (size < 0) return null;
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // The same bullet points recur across many jobs; keep one copy of each
+            String value = readString(in);
+            values.add(value != null ? value.intern() : null);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.starplan;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.security.MessageDigest;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Client side of the backend's resumable upload protocol (see /upload/sessions in app.py).
+ *
+ * The file is hashed once, then a session is opened for that hash. If the server already
+ * stores a file with that hash it says so and nothing is sent. Otherwise it answers with
+ * the offset it already holds, so an upload interrupted earlier (even in a previous run of
+ * the app) continues where it stopped. The file is sent in fixed-size chunks, each with its
+ * own SHA-256, and after a dropped connection the uploader asks the server for its
+ * acknowledged offset and carries on from there. Completing the session makes the server
+ * check the whole file's hash before keeping it.
+ *
+ * {@link #upload} blocks, so call it off the main thread.
+ */
+public class ChunkedUploader {
+
+    public interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Called on the uploading thread after each acknowledged chunk.
+     */
+    public interface ProgressListener {
+        void onProgress(long bytesAcknowledged, long totalBytes);
+    }
+
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    static final String CHUNK_SHA256_HEADER = "X-Chunk-SHA256";
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+    // Consecutive failures tolerated before giving up; a pass that gets a chunk through resets it
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    private final OkHttpClient client;
+    private final HttpUrl sessionsUrl;
+    private final int chunkSize;
+    private long retryDelayMillis = RETRY_DELAY_MILLIS;
+
+    public ChunkedUploader(OkHttpClient client, String baseUrl) {
+        this(client, baseUrl, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedUploader(OkHttpClient client, String baseUrl, int chunkSize) {
+        // Retries are ours: after a failure we re-sync with the server instead of replaying
+        this.client = client.newBuilder().retryOnConnectionFailure(false).build();
+        this.sessionsUrl = HttpUrl.get(baseUrl).newBuilder().addPathSegments("upload/sessions").build();
+        this.chunkSize = chunkSize;
+    }
+
+    void setRetryDelayMillis(long retryDelayMillis) {
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * Reads the whole file once for the size and SHA-256 the server identifies it by.
+     * CPU-bound, unlike the upload itself, so it can run on a different thread.
+     */
+    public static Fingerprint fingerprint(StreamOpener opener) throws IOException {
+        long size = 0;
+        MessageDigest fileDigest = Sha256.newDigest();
+        byte[] buffer = new byte[DEFAULT_CHUNK_SIZE];
+        try (InputStream in = opener.open()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                fileDigest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        return new Fingerprint(size, Sha256.hex(fileDigest.digest()));
+    }
+
+    /**
+     * Uploads the file and returns the server's completion response.
+     */
+    public String upload(StreamOpener opener, String filename, ProgressListener listener) throws IOException {
+        return upload(opener, fingerprint(opener), filename, listener);
+    }
+
+    /**
+     * Uploads a file whose {@link #fingerprint} was already taken.
+     */
+    public String upload(StreamOpener opener, Fingerprint fingerprint, String filename,
+                         ProgressListener listener) throws IOException {
+        long size = fingerprint.size;
+        JsonObject opened = openSession(filename, size, fingerprint.sha256);
+        if (opened.has("complete") && opened.get("complete").getAsBoolean()) {
+            // Uploaded before, in full; the server's answer stands in for the completion response
+            report(listener, size, size);
+            return opened.toString();
+        }
+        Session session = new Session(opened.get("upload_id").getAsString(), opened.get("chunk_size").getAsInt());
+        session.offset = opened.get("offset").getAsLong();
+        byte[] buffer = new byte[session.chunkSize];
+        report(listener, session.offset, size);
+
+        int failures = 0;
+        while (true) {
+            long start = session.offset;
+            try {
+                sendChunks(opener, session, size, buffer, listener);
+                return complete(session);
+            } catch (UploadRejectedException e) {
+                throw e;
+            } catch (IOException e) {
+                if (session.offset > start) failures = 0;
+                if (++failures >= MAX_ATTEMPTS) throw e;
+                pause(failures);
+                try {
+                    session.offset = fetchOffset(session);
+                } catch (UploadRejectedException rejected) {
+                    throw rejected;
+                } catch (IOException ignored) {
+                    // Still offline; the next pass fails too and counts as another attempt
+                }
+            }
+        }
+    }
+
+    // Sends everything from session.offset onwards, reading the file sequentially
+    private void sendChunks(StreamOpener opener, Session session, long size, byte[] buffer,
+                            ProgressListener listener) throws IOException {
+        if (session.offset >= size) return;
+        try (InputStream in = opener.open()) {
+            skipFully(in, session.offset);
+            while (session.offset < size) {
+                int length = (int) Math.min(buffer.length, size - session.offset);
+                readFully(in, buffer, length);
+                session.offset = putChunk(session, buffer, length);
+                report(listener, session.offset, size);
+            }
+        }
+    }
+
+    private JsonObject openSession(String filename, long size, String fileHash) throws IOException {
+        JsonObject body = new JsonObject();
+        body.addProperty("filename", filename);
+        body.addProperty("size", size);
+        body.addProperty("sha256", fileHash);
+        body.addProperty("chunk_size", chunkSize);
+        Request request = new Request.Builder()
+            .url(sessionsUrl)
+            .post(RequestBody.create(body.toString(), JSON))
+            .build();
+        try (Response response = client.newCall(request).execute()) {
+            JsonObject json = parse(response);
+            if (!response.isSuccessful()) throw rejected(response, json);
+            return json;
+        }
+    }
+
+    private long fetchOffset(Session session) throws IOException {
+        Request request = new Request.Builder().url(session.url).get().build();
+        try (Response response = client.newCall(request).execute()) {
+            JsonObject json = parse(response);
+            if (!response.isSuccessful()) throw rejected(response, json);
+            return json.get("offset").getAsLong();
+        }
+    }
+
+    // Returns the new acknowledged offset
+    private long putChunk(Session session, byte[] buffer, int length) throws IOException {
+        MessageDigest digest = Sha256.newDigest();
+        digest.update(buffer, 0, length);
+        Request request = new Request.Builder()
+            .url(session.url.newBuilder()
+                .addPathSegment("chunks")
+                .addQueryParameter("offset", Long.toString(session.offset))
+                .build())
+            .header(CHUNK_SHA256_HEADER, Sha256.hex(digest.digest()))
+            .put(RequestBody.create(buffer, OCTET_STREAM, 0, length))
+            .build();
+        try (Response response = client.newCall(request).execute()) {
+            JsonObject json = parse(response);
+            if (response.isSuccessful()) return json.get("offset").getAsLong();
+            if (response.code() == 409 || response.code() == 400) {
+                // Out of sync or corrupted in transit; resync and resend from the server's offset
+                throw new IOException("Chunk at " + session.offset + " not accepted: HTTP " + response.code());
+            }
+            throw rejected(response, json);
+        }
+    }
+
+    private String complete(Session session) throws IOException {
+        Request request = new Request.Builder()
+            .url(session.url.newBuilder().addPathSegment("complete").build())
+            .post(RequestBody.create(new byte[0], null))
+            .build();
+        try (Response response = client.newCall(request).execute()) {
+            String body = response.body() != null ? response.body().string() : "";
+            if (response.isSuccessful()) return body;
+            if (response.code() == 409) {
+                // The server is missing data after all; resync and send the rest
+                throw new IOException("Upload incomplete on server: " + body);
+            }
+            throw new UploadRejectedException(response.code(),
+                "Upload not completed: HTTP " + response.code() + " " + body);
+        }
+    }
+
+    private static JsonObject parse(Response response) throws IOException {
+        String body = response.body() != null ? response.body().string() : "";
+        try {
+            return JsonParser.parseString(body).getAsJsonObject();
+        } catch (RuntimeException e) {
+            return new JsonObject();
+        }
+    }
+
+    private static UploadRejectedException rejected(Response response, JsonObject json) {
+        String reason = json.has("error") ? json.get("error").getAsString() : response.message();
+        return new UploadRejectedException(response.code(), "HTTP " + response.code() + ": " + reason);
+    }
+
+    private void pause(int failures) throws InterruptedIOException {
+        try {
+            Thread.sleep(retryDelayMillis * failures);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Upload interrupted");
+        }
+    }
+
+    private static void report(ProgressListener listener, long offset, long size) {
+        if (listener != null) listener.onProgress(offset, size);
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() == -1) throw new EOFException("File changed during upload");
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+
+    private static void readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int filled = 0;
+        while (filled < length) {
+            int read = in.read(buffer, filled, length - filled);
+            if (read == -1) throw new EOFException("File changed during upload");
+            filled += read;
+        }
+    }
+
+    /**
+     * The server refused the upload outright; retrying will not help. A 400 on completion
+     * means the assembled file is not a PDF.
+     */
+    public static class UploadRejectedException extends IOException {
+        private final int code;
+
+        UploadRejectedException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    public static final class Fingerprint {
+        public final long size;
+        public final String sha256;
+
+        Fingerprint(long size, String sha256) {
+            this.size = size;
+            this.sha256 = sha256;
+        }
+    }
+
+    private final class Session {
+        final HttpUrl url;
+        final int chunkSize;
+        long offset;
+
+        Session(String id, int chunkSize) {
+            this.url = sessionsUrl.newBuilder().addPathSegment(id).build();
+            this.chunkSize = chunkSize;
+        }
+    }
+}
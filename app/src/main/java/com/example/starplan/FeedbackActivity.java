@@ -1,7 +1,6 @@
 package com.example.starplan;
 
 import android.content.Intent;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.MenuItem;
@@ -22,31 +21,35 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import okhttp3.MediaType;
-import okhttp3.MultipartBody;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
 
 public class FeedbackActivity extends AppCompatActivity {
 
     private static final String TAG = "FeedbackActivity";
-    private static final String SERVER_URL = "http://10.0.2.2:5000"; // For Android emulator, use 10.0.2.2 for localhost
+    private static final int RANKED_JOB_COUNT = 20;
 
     private Toolbar toolbar;
     private ProgressBar progressBarOverall, pbCircularScore, progressBarFeedbackLoading;
     private TextView tvSelectedResumeName, tvAnalysisSummary;
     private ImageView ivResumeIcon;
-    private Button btnCheckImprovement, btnGenerateCoverLetter, btnPreviousFeedback, btnNextFeedback;
+    private Button btnCheckImprovement, btnGenerateCoverLetter, btnPreviousFeedback, btnNextFeedback, btnRankJobs;
     private EditText etCoverLetter;
     private RecyclerView rvCriteriaBreakdown;
     private FeedbackAdapter feedbackAdapter;
     private LinearLayout llDetailedFeedbackContainer; // This will wrap the RecyclerView
+    private TextView tvJobMatchesStatus;
+    private RecyclerView rvJobMatches;
+    private JobMatchAdapter jobMatchAdapter;
 
     private String selectedResumeFile;
     private int selectedJobId;
+    private SingleFlight.Subscription feedbackSubscription;
+    private ApiService.BatchHandle rankingHandle;
+    // Known once the resume has been read and hashed
+    private File resumeFile;
+    private String resumeHash;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -77,7 +80,7 @@ public class FeedbackActivity extends AppCompatActivity {
         // Add more conditions for other file types if necessary
 
         // Fetch feedback from the backend
-        new FetchFeedbackTask().execute();
+        fetchFeedback();
     }
 
     private void initViews() {
@@ -96,6 +99,9 @@ public class FeedbackActivity extends AppCompatActivity {
         btnGenerateCoverLetter = findViewById(R.id.btn_generate_cover_letter);
         btnPreviousFeedback = findViewById(R.id.btn_previous_feedback);
         btnNextFeedback = findViewById(R.id.btn_next_feedback);
+        btnRankJobs = findViewById(R.id.btn_rank_jobs);
+        tvJobMatchesStatus = findViewById(R.id.tv_job_matches_status);
+        rvJobMatches = findViewById(R.id.rv_job_matches);
     }
 
     private void setupToolbar() {
@@ -112,6 +118,10 @@ public class FeedbackActivity extends AppCompatActivity {
         rvCriteriaBreakdown.setAdapter(feedbackAdapter);
         // Initially hide the detailed breakdown
         rvCriteriaBreakdown.setVisibility(View.GONE);
+
+        rvJobMatches.setLayoutManager(new LinearLayoutManager(this));
+        jobMatchAdapter = new JobMatchAdapter(this, this::openJobFeedback);
+        rvJobMatches.setAdapter(jobMatchAdapter);
     }
 
     private void setupClickListeners() {
@@ -131,6 +141,8 @@ public class FeedbackActivity extends AppCompatActivity {
             etCoverLetter.setText("Generated cover letter placeholder... based on job ID: " + selectedJobId + " and resume: " + selectedResumeFile);
         });
 
+        btnRankJobs.setOnClickListener(v -> rankJobs());
+
         btnPreviousFeedback.setOnClickListener(v -> onBackPressed());
 
         btnNextFeedback.setOnClickListener(v -> {
@@ -148,108 +160,242 @@ public class FeedbackActivity extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
 
-    private class FetchFeedbackTask extends AsyncTask<Void, Void, JSONObject> {
-        @Override
-        protected void onPreExecute() {
-            super.onPreExecute();
-            progressBarFeedbackLoading.setVisibility(View.VISIBLE);
-            tvAnalysisSummary.setText("Fetching analysis...");
-            pbCircularScore.setProgress(0);
-        }
+    @Override
+    protected void onDestroy() {
+        // Only stops listening; the request keeps going while another screen waits on it
+        if (feedbackSubscription != null) feedbackSubscription.cancel();
+        if (rankingHandle != null) rankingHandle.cancel();
+        super.onDestroy();
+    }
+
+    /**
+     * Hashes the resume off the UI thread and answers from {@link FeedbackCache} when it can;
+     * otherwise the request goes through ApiService, which shares it with any identical
+     * request still in flight (for example from a FeedbackActivity that was just closed).
+     */
+    private void fetchFeedback() {
+        progressBarFeedbackLoading.setVisibility(View.VISIBLE);
+        tvAnalysisSummary.setText("Fetching analysis...");
+        pbCircularScore.setProgress(0);
+
+        // Mostly hashing the resume. The screen is empty until this answers, so it goes ahead
+        // of queued background work.
+        TaskRunner.run(this, TaskRunner.Pool.CPU, TaskRunner.Priority.HIGH,
+                reporter -> lookUpResume(), new TaskRunner.Callback<ResumeLookup>() {
+                    @Override
+                    public void onResult(ResumeLookup lookup) {
+                        resumeFile = lookup.resumeFile;
+                        resumeHash = lookup.resumeHash;
+                        if (lookup.cached != null) {
+                            showFeedback(lookup.cached);
+                        } else if (lookup.resumeHash == null) {
+                            showFeedbackError();
+                        } else {
+                            requestFeedback(lookup.resumeFile, lookup.resumeHash);
+                        }
+                    }
 
-        @Override
-        protected JSONObject doInBackground(Void... params) {
-            File resumeFile = new File(getFilesDir(), selectedResumeFile);
-            // This assumes selectedResumeFile is just the name and it's in getFilesDir()
-            // If it's a full path or from a content URI, this part needs adjustment for actual file access.
-            // For now, proceeding with the assumption it's a file name accessible via getFilesDir().
-            // You might need to copy the file from its URI to app-specific storage first.
-            Log.d(TAG, "Attempting to use resume file: " + resumeFile.getAbsolutePath() + " for job ID: " + selectedJobId);
-
-            // Ensure the file exists (placeholder for actual file handling from previous screen)
-            if (!resumeFile.exists()) {
-                Log.e(TAG, "Resume file does not exist at: " + resumeFile.getAbsolutePath());
-                // For testing, let's try to create a dummy file if it doesn't exist
-                try {
-                    if (resumeFile.createNewFile()) {
-                        Log.d(TAG, "Created dummy resume file for testing: " + resumeFile.getAbsolutePath());
-                    } else {
-                        Log.e(TAG, "Failed to create dummy resume file.");
-                        return null; // Stop if file doesn't exist and cannot be created
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "Error preparing feedback request", e);
+                        showFeedbackError();
                     }
-                } catch (IOException e) {
-                    Log.e(TAG, "IOException while creating dummy file: " + e.getMessage());
-                    return null;
+                });
+    }
+
+    // Worker thread
+    private ResumeLookup lookUpResume() {
+        ResumeLookup lookup = new ResumeLookup();
+        File resumeFile = new File(getFilesDir(), selectedResumeFile);
+        lookup.resumeFile = resumeFile;
+        // This assumes selectedResumeFile is just the name and it's in getFilesDir()
+        // If it's a full path or from a content URI, this part needs adjustment for actual file access.
+        // For now, proceeding with the assumption it's a file name accessible via getFilesDir().
+        // You might need to copy the file from its URI to app-specific storage first.
+        Log.d(TAG, "Attempting to use resume file: " + resumeFile.getAbsolutePath() + " for job ID: " + selectedJobId);
+
+        // Ensure the file exists (placeholder for actual file handling from previous screen)
+        if (!resumeFile.exists()) {
+            Log.e(TAG, "Resume file does not exist at: " + resumeFile.getAbsolutePath());
+            // For testing, let's try to create a dummy file if it doesn't exist
+            try {
+                if (resumeFile.createNewFile()) {
+                    Log.d(TAG, "Created dummy resume file for testing: " + resumeFile.getAbsolutePath());
+                } else {
+                    Log.e(TAG, "Failed to create dummy resume file.");
+                    return lookup; // Stop if file doesn't exist and cannot be created
                 }
+            } catch (IOException e) {
+                Log.e(TAG, "IOException while creating dummy file: " + e.getMessage());
+                return lookup;
             }
+        }
 
-            OkHttpClient client = new OkHttpClient();
+        try {
+            lookup.resumeHash = Sha256.of(resumeFile);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not read resume file", e);
+            return lookup;
+        }
+        lookup.cached = FeedbackCache.load(this, lookup.resumeHash, selectedJobId);
+        if (lookup.cached != null) {
+            Log.d(TAG, "Using cached feedback for resume " + lookup.resumeHash + " and job " + selectedJobId);
+        }
+        return lookup;
+    }
 
-            RequestBody requestBody = new MultipartBody.Builder()
-                    .setType(MultipartBody.FORM)
-                    .addFormDataPart("job_id", String.valueOf(selectedJobId))
-                    .addFormDataPart("resume", resumeFile.getName(),
-                            RequestBody.create(MediaType.parse("application/octet-stream"), resumeFile)) // Use octet-stream for generic file
-                    .build();
+    private void requestFeedback(File resumeFile, String resumeHash) {
+        feedbackSubscription = new ApiService(this).getFeedback(
+                resumeFile, resumeHash, selectedJobId, new ApiService.JsonCallback() {
+                    @Override
+                    public void onSuccess(JSONObject json) {
+                        feedbackSubscription = null;
+                        showFeedback(json);
+                    }
 
-            Request request = new Request.Builder()
-                    .url(SERVER_URL + "/get_feedback")
-                    .post(requestBody)
-                    .build();
+                    @Override
+                    public void onPartial(JSONObject json) {
+                        // Scores render as they stream in; later snapshots include earlier ones
+                        showFeedback(json);
+                    }
 
-            try {
-                Response response = client.newCall(request).execute();
-                if (response.isSuccessful() && response.body() != null) {
-                    String jsonString = response.body().string();
-                    Log.d(TAG, "Received feedback JSON: " + jsonString);
-                    return new JSONObject(jsonString); // Return the whole response object
-                } else {
-                    Log.e(TAG, "Server error: " + response.code() + " " + response.message());
-                    if (response.body() != null) Log.e(TAG, "Error body: " + response.body().string());
-                }
-            } catch (IOException | JSONException e) {
-                Log.e(TAG, "Error fetching or parsing feedback", e);
+                    @Override
+                    public void onError(String error) {
+                        feedbackSubscription = null;
+                        Log.e(TAG, "Error fetching feedback: " + error);
+                        showFeedbackError();
+                    }
+                });
+    }
+
+    /**
+     * Scores the resume against the first jobs of the catalog in one batch request, and
+     * ranks them as the scores stream in.
+     */
+    private void rankJobs() {
+        if (resumeHash == null) {
+            Toast.makeText(this, "The resume is not ready yet.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        btnRankJobs.setEnabled(false);
+        tvJobMatchesStatus.setText("Loading jobs...");
+        JobRepository.getInstance(this).loadPageAsync(this, 0, RANKED_JOB_COUNT, new JobRepository.PageCallback() {
+            @Override
+            public void onPageLoaded(List<Job> page, boolean endReached) {
+                startRanking(page);
             }
-            return null;
+
+            @Override
+            public void onError(IOException e) {
+                Log.e(TAG, "Error loading jobs to rank", e);
+                tvJobMatchesStatus.setText("Could not load jobs.");
+                btnRankJobs.setEnabled(true);
+            }
+        });
+    }
+
+    private void startRanking(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            tvJobMatchesStatus.setText("No jobs to compare with.");
+            btnRankJobs.setEnabled(true);
+            return;
         }
+        List<Integer> jobIds = new ArrayList<>();
+        for (Job job : jobs) {
+            jobIds.add(job.id);
+        }
+        jobMatchAdapter.setJobs(jobs);
+        rvJobMatches.setVisibility(View.VISIBLE);
+        tvJobMatchesStatus.setText(String.format(Locale.getDefault(),
+                "Scoring this resume against %d jobs...", jobIds.size()));
+
+        rankingHandle = new ApiService(this).getBatchFeedback(resumeFile, resumeHash, jobIds,
+                new ApiService.BatchFeedbackCallback() {
+                    @Override
+                    public void onResult(int jobId, JSONObject json) {
+                        jobMatchAdapter.setResult(jobId, json);
+                        tvJobMatchesStatus.setText(String.format(Locale.getDefault(),
+                                "Scored %d of %d jobs...", jobMatchAdapter.getScoredCount(), jobIds.size()));
+                    }
 
-        @Override
-        protected void onPostExecute(JSONObject fullJsonResponse) {
-            progressBarFeedbackLoading.setVisibility(View.GONE);
-            if (fullJsonResponse != null) {
-                try {
-                    // Assuming the structure is: {"feedback": { "overall_score": ..., "detailed_feedback": ...}}
-                    JSONObject feedbackData = fullJsonResponse.getJSONObject("feedback");
-
-                    JSONObject overallScoreObj = feedbackData.getJSONObject("overall_score");
-                    int score = overallScoreObj.getInt("score"); // e.g. 50
-                    // Max score for overall_score might be 100 or specified in JSON
-                    int maxScore = overallScoreObj.optInt("max_score", 100);
-                    String justification = overallScoreObj.getString("justification");
-
-                    pbCircularScore.setMax(maxScore);
-                    pbCircularScore.setProgress(score);
-                    tvAnalysisSummary.setText(String.format(Locale.getDefault(),
-                            "%d%% alignment. %s", (score * 100 / maxScore), justification));
-
-                    // Assuming 'detailed_feedback' contains the criteria for the RecyclerView
-                    if (feedbackData.has("detailed_feedback")) {
-                        JSONObject detailedFeedback = feedbackData.getJSONObject("detailed_feedback");
-                        feedbackAdapter.updateData(detailedFeedback);
-                    } else if (feedbackData.has("feedback")) { // Fallback if nested under 'feedback' again
-                        JSONObject detailedFeedback = feedbackData.getJSONObject("feedback");
-                        feedbackAdapter.updateData(detailedFeedback);
+                    @Override
+                    public void onJobError(int jobId, String error) {
+                        jobMatchAdapter.setError(jobId, error);
                     }
 
-                } catch (JSONException e) {
-                    Log.e(TAG, "Error parsing feedback JSON", e);
-                    tvAnalysisSummary.setText("Failed to parse feedback.");
-                    Toast.makeText(FeedbackActivity.this, "Error parsing feedback data.", Toast.LENGTH_LONG).show();
-                }
-            } else {
-                tvAnalysisSummary.setText("Failed to get feedback.");
-                Toast.makeText(FeedbackActivity.this, "Failed to get feedback. Check server connection or logs.", Toast.LENGTH_LONG).show();
+                    @Override
+                    public void onComplete() {
+                        rankingHandle = null;
+                        tvJobMatchesStatus.setText(String.format(Locale.getDefault(),
+                                "Ranked %d of %d jobs. Tap one to see its feedback.",
+                                jobMatchAdapter.getScoredCount(), jobIds.size()));
+                        btnRankJobs.setEnabled(true);
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        rankingHandle = null;
+                        Log.e(TAG, "Error ranking jobs: " + error);
+                        tvJobMatchesStatus.setText(error);
+                        btnRankJobs.setEnabled(true);
+                    }
+                });
+    }
+
+    // Batch results are already in FeedbackCache, so this opens without another request
+    private void openJobFeedback(int jobId) {
+        if (jobId == selectedJobId) return;
+        Intent intent = new Intent(this, FeedbackActivity.class);
+        intent.putExtra("selected_resume_file", selectedResumeFile);
+        intent.putExtra("selected_job_id", jobId);
+        startActivity(intent);
+    }
+
+    private static final class ResumeLookup {
+        File resumeFile;
+        String resumeHash; // null if the resume could not be read
+        JSONObject cached;
+    }
+
+    private void showFeedback(JSONObject fullJsonResponse) {
+        progressBarFeedbackLoading.setVisibility(View.GONE);
+        try {
+            // Assuming the structure is: {"feedback": { "overall_score": ..., "detailed_feedback": ...}}
+            JSONObject feedbackData = fullJsonResponse.getJSONObject("feedback");
+
+            // A streamed response may not have every part yet
+            JSONObject overallScoreObj = feedbackData.optJSONObject("overall_score");
+            if (overallScoreObj != null) {
+                int score = overallScoreObj.getInt("score"); // e.g. 50
+                // Max score for overall_score might be 100 or specified in JSON
+                int maxScore = overallScoreObj.optInt("max_score", 100);
+                String justification = overallScoreObj.getString("justification");
+
+                pbCircularScore.setMax(maxScore);
+                pbCircularScore.setProgress(score);
+                tvAnalysisSummary.setText(String.format(Locale.getDefault(),
+                        "%d%% alignment. %s", (score * 100 / maxScore), justification));
+            }
+
+            // Assuming 'detailed_feedback' contains the criteria for the RecyclerView
+            if (feedbackData.has("detailed_feedback")) {
+                JSONObject detailedFeedback = feedbackData.getJSONObject("detailed_feedback");
+                feedbackAdapter.updateData(detailedFeedback);
+            } else if (feedbackData.has("feedback")) { // Fallback if nested under 'feedback' again
+                JSONObject detailedFeedback = feedbackData.getJSONObject("feedback");
+                feedbackAdapter.updateData(detailedFeedback);
             }
+
+        } catch (JSONException e) {
+            Log.e(TAG, "Error parsing feedback JSON", e);
+            tvAnalysisSummary.setText("Failed to parse feedback.");
+            Toast.makeText(FeedbackActivity.this, "Error parsing feedback data.", Toast.LENGTH_LONG).show();
         }
     }
+
+    private void showFeedbackError() {
+        progressBarFeedbackLoading.setVisibility(View.GONE);
+        tvAnalysisSummary.setText("Failed to get feedback.");
+        Toast.makeText(FeedbackActivity.this, "Failed to get feedback. Check server connection or logs.", Toast.LENGTH_LONG).show();
+    }
 }
@@ -6,6 +6,8 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -14,14 +16,27 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 
-public class FeedbackAdapter extends RecyclerView.Adapter<FeedbackAdapter.ViewHolder> {
+public class FeedbackAdapter extends ListAdapter<FeedbackItemModel, FeedbackAdapter.ViewHolder> {
+    private static final DiffUtil.ItemCallback<FeedbackItemModel> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<FeedbackItemModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FeedbackItemModel oldItem, @NonNull FeedbackItemModel newItem) {
+            return oldItem.getKey().equals(newItem.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull FeedbackItemModel oldItem, @NonNull FeedbackItemModel newItem) {
+            return oldItem.hasSameContents(newItem);
+        }
+    };
 
     private Context context;
-    private List<FeedbackItemModel> feedbackItems;
+    private final StableIds itemIds = new StableIds();
 
     public FeedbackAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.feedbackItems = new ArrayList<>();
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -33,36 +48,51 @@ public class FeedbackAdapter extends RecyclerView.Adapter<FeedbackAdapter.ViewHo
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        FeedbackItemModel item = feedbackItems.get(position);
+        FeedbackItemModel item = getItem(position);
         holder.tvCriteriaName.setText(item.getCriteriaName());
         holder.tvCriteriaScore.setText(String.format(Locale.getDefault(), "Score: %d/%d", item.getScore(), item.getMaxScore()));
         holder.tvCriteriaJustification.setText(item.getJustification());
     }
 
     @Override
-    public int getItemCount() {
-        return feedbackItems.size();
+    public long getItemId(int position) {
+        return itemIds.idFor(getItem(position).getKey());
     }
 
+    /**
+     * Shows the criteria of a feedback response. Criteria are matched by key against the
+     * current rows, so a refreshed response only rebinds the scores that changed, and a
+     * response that is still streaming in only adds the rows that arrived since.
+     * Criteria may be listed directly or grouped by category ({"impact": {"Action Verb Use": ...}}).
+     */
     public void updateData(JSONObject detailedFeedbackJson) {
-        feedbackItems.clear();
+        List<FeedbackItemModel> feedbackItems = new ArrayList<>();
         if (detailedFeedbackJson != null) {
-            Iterator<String> keys = detailedFeedbackJson.keys();
-            while (keys.hasNext()) {
-                String key = keys.next();
-                try {
-                    JSONObject criteriaObject = detailedFeedbackJson.getJSONObject(key);
-                    String name = formatCriteriaName(key);
-                    int score = criteriaObject.getInt("score");
-                    int maxScore = criteriaObject.optInt("max_score", 10); // Assuming max 10 if not specified
-                    String justification = criteriaObject.getString("justification");
-                    feedbackItems.add(new FeedbackItemModel(name, score, maxScore, justification));
-                } catch (JSONException e) {
-                    // Log error or handle
+            addCriteria(detailedFeedbackJson, "", feedbackItems);
+        }
+        submitList(feedbackItems);
+    }
+
+    private void addCriteria(JSONObject criteria, String keyPrefix, List<FeedbackItemModel> feedbackItems) {
+        Iterator<String> keys = criteria.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            try {
+                JSONObject criteriaObject = criteria.getJSONObject(key);
+                if (!criteriaObject.has("score")) {
+                    // A category; its criteria are keyed under it so names may repeat across categories
+                    addCriteria(criteriaObject, keyPrefix + key + "/", feedbackItems);
+                    continue;
                 }
+                String name = formatCriteriaName(key);
+                int score = criteriaObject.getInt("score");
+                int maxScore = criteriaObject.optInt("max_score", 10); // Assuming max 10 if not specified
+                String justification = criteriaObject.getString("justification");
+                feedbackItems.add(new FeedbackItemModel(keyPrefix + key, name, score, maxScore, justification));
+            } catch (JSONException e) {
+                // Log error or handle
             }
         }
-        notifyDataSetChanged();
     }
 
     private String formatCriteriaName(String key) {
@@ -0,0 +1,89 @@
+package com.example.starplan;
+
+import android.content.Context;
+import android.util.Log;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Feedback responses saved on disk, keyed by the SHA-256 of the resume's bytes and the job
+ * id. The same resume checked against the same job again is answered from here without
+ * uploading anything; editing the resume changes its hash and so misses the cache.
+ *
+ * Entries live under the app's cache directory, so the system can reclaim them, and are
+ * capped at MAX_ENTRIES like the backend's cache: reading an entry marks it as used, and
+ * saving past the cap deletes the least recently used ones.
+ */
+public final class FeedbackCache {
+    private static final String TAG = "FeedbackCache";
+    private static final String DIRECTORY = "feedback_cache";
+    private static final int MAX_ENTRIES = 500;
+
+    private FeedbackCache() {}
+
+    /**
+     * The cached response for this resume and job, or null.
+     */
+    public static JSONObject load(Context context, String resumeHash, int jobId) {
+        File file = entry(context, resumeHash, jobId);
+        if (!file.isFile()) return null;
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int filled = 0;
+            int read;
+            while (filled < bytes.length && (read = in.read(bytes, filled, bytes.length - filled)) != -1) {
+                filled += read;
+            }
+            JSONObject response = new JSONObject(new String(bytes, 0, filled, StandardCharsets.UTF_8));
+            file.setLastModified(System.currentTimeMillis());
+            return response;
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "Dropping unreadable cache entry " + file.getName(), e);
+            file.delete();
+            return null;
+        }
+    }
+
+    public static void save(Context context, String resumeHash, int jobId, JSONObject response) {
+        File file = entry(context, resumeHash, jobId);
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) return;
+        // Written beside the entry and renamed, so a reader never sees half a file
+        File temp = new File(directory, file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(response.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        } catch (IOException e) {
+            Log.w(TAG, "Could not cache feedback for job " + jobId, e);
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            return;
+        }
+        trim(directory);
+    }
+
+    // Deletes the least recently used entries beyond MAX_ENTRIES
+    private static synchronized void trim(File directory) {
+        File[] entries = directory.listFiles((dir, name) -> name.endsWith(".json"));
+        if (entries == null || entries.length <= MAX_ENTRIES) return;
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < entries.length - MAX_ENTRIES; i++) {
+            entries[i].delete();
+        }
+    }
+
+    private static File entry(Context context, String resumeHash, int jobId) {
+        return new File(new File(context.getCacheDir(), DIRECTORY), resumeHash + "_" + jobId + ".json");
+    }
+}
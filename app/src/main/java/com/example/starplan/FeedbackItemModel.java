@@ -1,18 +1,27 @@
 package com.example.starplan;
 
+import java.util.Objects;
+
 public class FeedbackItemModel {
+    private String key;
     private String criteriaName;
     private int score;
     private int maxScore;
     private String justification;
 
-    public FeedbackItemModel(String criteriaName, int score, int maxScore, String justification) {
+    public FeedbackItemModel(String key, String criteriaName, int score, int maxScore, String justification) {
+        this.key = key;
         this.criteriaName = criteriaName;
         this.score = score;
         this.maxScore = maxScore;
         this.justification = justification;
     }
 
+    // Criteria key from the feedback response, e.g. "skills_match"; unique within one response
+    public String getKey() {
+        return key;
+    }
+
     public String getCriteriaName() {
         return criteriaName;
     }
@@ -28,4 +37,11 @@ public class FeedbackItemModel {
     public String getJustification() {
         return justification;
     }
+
+    public boolean hasSameContents(FeedbackItemModel other) {
+        return score == other.score
+                && maxScore == other.maxScore
+                && Objects.equals(criteriaName, other.criteriaName)
+                && Objects.equals(justification, other.justification);
+    }
 }
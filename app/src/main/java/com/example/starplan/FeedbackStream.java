@@ -0,0 +1,159 @@
+package com.example.starplan;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reader for the NDJSON stream of /get_feedback/stream.
+ *
+ * Each line is one event, sent as soon as the model has produced it:
+ * <pre>
+ * {"type": "overall_score", "key": "overall_score", "score": 77, "justification": "..."}
+ * {"type": "criterion", "category": "impact", "name": "Action Verb Use", "score": 10, "justification": "..."}
+ * {"type": "section_score", "key": "impact_score", "score": 77, "justification": "..."}
+ * {"type": "complete", "feedback": {...}}
+ * {"type": "error", "error": "..."}
+ * </pre>
+ * Events are folded into the same {"feedback": {...}} shape that /get_feedback returns,
+ * and the listener gets a snapshot after every event, so the screen can render the same way
+ * whether it is halfway through a stream or showing a finished response.
+ *
+ * {@link #readBatch} reads /get_feedback/batch, which sends one whole response per job:
+ * <pre>
+ * {"type": "result", "job_id": 3, "feedback": {...}}
+ * {"type": "job_error", "job_id": 4, "error": "..."}
+ * {"type": "complete"}
+ * </pre>
+ */
+public final class FeedbackStream {
+
+    public interface Listener {
+        void onUpdate(JsonObject responseSoFar);
+    }
+
+    public interface BatchListener {
+        /**
+         * The feedback for one job, in the {"feedback": {...}} shape /get_feedback returns.
+         */
+        void onResult(int jobId, JsonObject response);
+        void onJobError(int jobId, String error);
+    }
+
+    /**
+     * The server reported a failure in the stream itself.
+     */
+    public static class StreamErrorException extends IOException {
+        StreamErrorException(String message) {
+            super(message);
+        }
+    }
+
+    private FeedbackStream() {}
+
+    /**
+     * Reads events until the stream completes and returns the final response.
+     */
+    public static JsonObject read(Reader source, Listener listener) throws IOException {
+        JsonObject feedback = new JsonObject();
+        JsonObject response = new JsonObject();
+        response.add("feedback", feedback);
+
+        JsonReader reader = events(source);
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            JsonObject event = nextEvent(reader);
+            if (event == null) continue;
+            String type = string(event, "type");
+
+            if ("complete".equals(type)) {
+                JsonObject complete = new JsonObject();
+                complete.add("feedback", event.has("feedback") ? event.get("feedback") : feedback);
+                return complete;
+            } else if ("error".equals(type)) {
+                throw new StreamErrorException(string(event, "error"));
+            } else if ("overall_score".equals(type) || "section_score".equals(type)) {
+                String key = event.has("key") ? string(event, "key") : type;
+                feedback.add(key, score(event));
+            } else if ("criterion".equals(type)) {
+                String category = event.has("category") ? string(event, "category") : "other";
+                JsonObject details = feedback.getAsJsonObject("feedback");
+                if (details == null) {
+                    details = new JsonObject();
+                    feedback.add("feedback", details);
+                }
+                JsonObject criteria = details.getAsJsonObject(category);
+                if (criteria == null) {
+                    criteria = new JsonObject();
+                    details.add(category, criteria);
+                }
+                criteria.add(string(event, "name"), score(event));
+            } else {
+                continue; // Unknown event types are skipped, so the server can add new ones
+            }
+            if (listener != null) listener.onUpdate(response.deepCopy());
+        }
+        throw new IOException("Feedback stream ended before it completed");
+    }
+
+    /**
+     * Reads batch events until the batch completes. Results arrive in the order the server
+     * finished them, not the order the jobs were requested in.
+     */
+    public static void readBatch(Reader source, BatchListener listener) throws IOException {
+        JsonReader reader = events(source);
+        while (reader.peek() != JsonToken.END_DOCUMENT) {
+            JsonObject event = nextEvent(reader);
+            if (event == null) continue;
+            String type = string(event, "type");
+
+            if ("complete".equals(type)) {
+                return;
+            } else if ("error".equals(type)) {
+                throw new StreamErrorException(string(event, "error"));
+            } else if ("result".equals(type) && event.has("job_id") && event.has("feedback")) {
+                JsonObject response = new JsonObject();
+                response.add("feedback", event.get("feedback"));
+                listener.onResult(event.get("job_id").getAsInt(), response);
+            } else if ("job_error".equals(type) && event.has("job_id")) {
+                listener.onJobError(event.get("job_id").getAsInt(), string(event, "error"));
+            }
+        }
+        throw new IOException("Feedback stream ended before it completed");
+    }
+
+    private static JsonReader events(Reader source) {
+        JsonReader reader = new JsonReader(source);
+        // Lenient mode accepts a sequence of top-level objects separated by newlines
+        reader.setLenient(true);
+        return reader;
+    }
+
+    // Null for anything that is not an object
+    private static JsonObject nextEvent(JsonReader reader) throws IOException {
+        JsonElement element;
+        try {
+            element = JsonParser.parseReader(reader);
+        } catch (JsonParseException e) {
+            throw new IOException("Malformed feedback event", e);
+        }
+        return element.isJsonObject() ? element.getAsJsonObject() : null;
+    }
+
+    private static JsonObject score(JsonObject event) {
+        JsonObject score = new JsonObject();
+        score.add("score", event.get("score"));
+        if (event.has("max_score")) score.add("max_score", event.get("max_score"));
+        score.add("justification", event.get("justification"));
+        return score;
+    }
+
+    private static String string(JsonObject event, String member) {
+        JsonElement value = event.get(member);
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+}
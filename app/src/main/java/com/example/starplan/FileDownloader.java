@@ -0,0 +1,69 @@
+package com.example.starplan;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * Saves a response body to a file without ever exposing a partial file.
+ *
+ * The body is streamed into a temp file in the target directory through Okio, which hands
+ * whole buffer segments from the socket source to the file sink instead of copying through
+ * a byte[]. Once every byte is in, the length is checked against Content-Length, the file
+ * is fsynced, and it is renamed over the final name. Any failure deletes the temp file.
+ */
+public final class FileDownloader {
+
+    /**
+     * Called on the downloading thread as bytes arrive. contentLength is -1 when unknown.
+     */
+    public interface ProgressListener {
+        void onProgress(long bytesRead, long contentLength);
+    }
+
+    private static final long SEGMENT_SIZE = 8192;
+
+    private FileDownloader() {}
+
+    public static File download(ResponseBody body, File directory, String filename,
+                                ProgressListener listener) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File target = new File(directory, filename);
+        // Fixed prefix: createTempFile needs at least three characters, and filename may be shorter
+        File temp = File.createTempFile(".download", ".part", directory);
+        boolean saved = false;
+        try {
+            long expected = body.contentLength();
+            long total = 0;
+            try (FileOutputStream out = new FileOutputStream(temp);
+                 BufferedSink sink = Okio.buffer(Okio.sink(out));
+                 BufferedSource source = body.source()) {
+                long read;
+                while ((read = source.read(sink.getBuffer(), SEGMENT_SIZE)) != -1) {
+                    sink.emitCompleteSegments();
+                    total += read;
+                    if (listener != null) listener.onProgress(total, expected);
+                }
+                if (expected != -1 && total != expected) {
+                    throw new IOException("Expected " + expected + " bytes but received " + total);
+                }
+                sink.flush();
+                out.getFD().sync();
+            }
+            // Same directory, so the rename is atomic and replaces any older file of that name
+            if (!temp.renameTo(target)) {
+                throw new IOException("Cannot rename " + temp + " to " + target);
+            }
+            saved = true;
+            return target;
+        } finally {
+            if (!saved) temp.delete();
+        }
+    }
+}
@@ -4,29 +4,55 @@ import android.app.ProgressDialog;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.Log;
+import android.view.View;
+import android.widget.EditText;
 import android.widget.Toast;
 import androidx.activity.EdgeToEdge;
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
-import com.google.firebase.crashlytics.buildtools.reloc.com.google.common.reflect.TypeToken;
-import com.google.gson.Gson;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class HomeActivity extends AppCompatActivity {
+    private static final String TAG = "HomeActivity";
     private RecyclerView recyclerJobs;
+    private View jobsPlaceholder;
+    private View jobsEmpty;
     private JobAdapter jobAdapter;
     private List<Job> jobList;
+    private boolean isLoadingPage;
+    private boolean endReached;
+    private JobSearchIndex searchIndex;
+    private boolean searchIndexRequested;
+    private String searchQuery = "";
+    private JobFacetIndex facetIndex;
+    private boolean facetIndexRequested;
+    private Map<JobFacetIndex.Facet, Set<String>> facetSelection = new EnumMap<>(JobFacetIndex.Facet.class);
+    private SkillMatchRanker skillRanker;
+    private boolean skillRankerRequested;
+    // Catalog positions of the ranked feed, best match first, and how many are on screen;
+    // null unless the feed is ranked
+    private int[] ranking;
+    private int rankedShown;
+    // Current time from MinuteTicker; drives the "posted" and "Expired" labels
+    private long now = System.currentTimeMillis();
     private static final int UPLOAD_REQUEST_CODE = 1001;
+    private static final int PAGE_SIZE = 20;
+    // Start fetching the next page when this many items remain below the last visible one
+    private static final int PREFETCH_DISTANCE = 5;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -35,48 +61,251 @@ public class HomeActivity extends AppCompatActivity {
         setContentView(R.layout.activity_home);
 
         initViews();
+        setupSearch();
         loadJobData();
         setupBottomNavigation();
         setupClickListeners();
+        MinuteTicker.get().observe(this, this::onClockTick);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        // Skills may have been edited in the resume builder; only the changed ones are re-scored
+        applyUserSkills();
     }
 
     private void initViews() {
         recyclerJobs = findViewById(R.id.recyclerJobs);
-        recyclerJobs.setLayoutManager(new LinearLayoutManager(this));
+        jobsPlaceholder = findViewById(R.id.jobsPlaceholder);
+        jobsEmpty = findViewById(R.id.jobsEmpty);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerJobs.setLayoutManager(layoutManager);
+        recyclerJobs.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= layoutManager.getItemCount() - 1 - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
     private void loadJobData() {
-        try {
-            // Read JSON from assets folder
-            InputStream is = getAssets().open("job_listings.json");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-            StringBuilder jsonBuilder = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                jsonBuilder.append(line);
+        jobList = new ArrayList<>();
+        jobAdapter = new JobAdapter(this, jobList);
+        recyclerJobs.setAdapter(jobAdapter);
+
+        // First page is loaded off the main thread; skeleton cards stand in until it arrives
+        showJobsPlaceholder(true);
+        loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (jobAdapter == null) return;
+        if (ranking != null) {
+            showNextRankedPage();
+            return;
+        }
+        if (isLoadingPage || endReached || showsWholeCatalog()) return;
+        isLoadingPage = true;
+
+        JobRepository.getInstance(this).loadPageAsync(this, jobList.size(), PAGE_SIZE,
+            new JobRepository.PageCallback() {
+                @Override
+                public void onPageLoaded(List<Job> page, boolean isLastPage) {
+                    isLoadingPage = false;
+                    endReached = isLastPage;
+                    showJobsPlaceholder(false);
+                    jobList.addAll(page);
+                    if (showsWholeCatalog() || ranking != null) return;
+
+                    jobAdapter.appendJobs(page);
+                    showEmptyState(endReached && jobList.isEmpty());
+                }
+
+                @Override
+                public void onError(IOException e) {
+                    isLoadingPage = false;
+                    showJobsPlaceholder(false);
+                    Toast.makeText(HomeActivity.this, "Error loading job data", Toast.LENGTH_SHORT).show();
+                }
+            });
+    }
+
+    private void setupSearch() {
+        EditText searchInput = findViewById(R.id.etSearchJobs);
+        searchInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                String query = s.toString().trim();
+                if (query.equals(searchQuery)) return;
+                searchQuery = query;
+                if (isSearching()) loadSearchIndex();
+                refreshDisplayedJobs();
             }
-            reader.close();
+        });
+    }
+
+    private void showFilterSheet() {
+        if (facetIndex == null) {
+            Toast.makeText(this, "Filters are still loading", Toast.LENGTH_SHORT).show();
+            loadFacetIndex();
+            return;
+        }
+        new JobFilterSheet(this, facetIndex, facetSelection, selection -> {
+            facetSelection = selection;
+            refreshDisplayedJobs();
+        }).show();
+    }
 
-            // Parse JSON
-            String jsonString = jsonBuilder.toString();
-            Gson gson = new Gson();
-            Type jobListType = new TypeToken<List<Job>>(){}.getType();
-            jobList = gson.fromJson(jsonString, jobListType);
+    // The indexes and the ranker cover the whole catalog, so each is only built once the
+    // feature that needs it is first used; browsing the feed only ever decodes its pages
+    private void loadSearchIndex() {
+        if (searchIndex != null || searchIndexRequested) return;
+        searchIndexRequested = true;
+        JobRepository.getInstance(this).loadSearchIndexAsync(this, new JobRepository.SearchIndexCallback() {
+            @Override
+            public void onIndexReady(JobSearchIndex index) {
+                searchIndex = index;
+                if (isSearching()) refreshDisplayedJobs();
+            }
 
-            // Limit to first 10 jobs for better performance
-            if (jobList.size() > 10) {
-                jobList = jobList.subList(0, 10);
+            @Override
+            public void onError(IOException e) {
+                searchIndexRequested = false;
+                Toast.makeText(HomeActivity.this, "Search is unavailable", Toast.LENGTH_SHORT).show();
             }
+        });
+    }
 
-            // Setup adapter
-            jobAdapter = new JobAdapter(this, jobList);
-            recyclerJobs.setAdapter(jobAdapter);
+    private void loadFacetIndex() {
+        if (facetIndex != null || facetIndexRequested) return;
+        facetIndexRequested = true;
+        JobRepository.getInstance(this).loadFacetIndexAsync(this, new JobRepository.FacetIndexCallback() {
+            @Override
+            public void onIndexReady(JobFacetIndex index) {
+                facetIndex = index;
+                facetIndex.setNow(now);
+                showFilterSheet();
+            }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            Toast.makeText(this, "Error loading job data", Toast.LENGTH_SHORT).show();
-            jobList = new ArrayList<>();
+            @Override
+            public void onError(IOException e) {
+                facetIndexRequested = false;
+                Log.e(TAG, "Error building job filters", e);
+            }
+        });
+    }
+
+    private void loadSkillRanker() {
+        if (skillRanker != null || skillRankerRequested) return;
+        skillRankerRequested = true;
+        JobRepository.getInstance(this).loadSkillRankerAsync(this, new JobRepository.SkillRankerCallback() {
+            @Override
+            public void onRankerReady(SkillMatchRanker ranker) {
+                skillRanker = ranker;
+                applyUserSkills();
+            }
+
+            @Override
+            public void onError(IOException e) {
+                skillRankerRequested = false;
+                Log.e(TAG, "Error ranking jobs by skill match", e);
+            }
+        });
+    }
+
+    private void applyUserSkills() {
+        List<String> skills = UserSkillsStore.load(this);
+        if (skillRanker == null) {
+            // Until the user has skills the feed is in catalog order and needs no ranker
+            if (!skills.isEmpty()) loadSkillRanker();
+            return;
         }
+        boolean wasRanked = isRanked();
+        boolean changed = skillRanker.setUserSkills(skills);
+        if (changed || wasRanked != isRanked()) refreshDisplayedJobs();
+    }
+
+    private void onClockTick(long time) {
+        boolean dayChanged = JobDates.localDay(time) != JobDates.localDay(now);
+        now = time;
+        jobAdapter.setNow(time);
+        if (facetIndex != null) facetIndex.setNow(time);
+        // Jobs may have expired overnight and the "date posted" bands have moved on, which
+        // changes what the Status and Date posted filters match
+        if (dayChanged) refreshDisplayedJobs();
+    }
+
+    // Shows the feed (in catalog order, or ranked by skill match once the user has skills;
+    // paged either way), or the search/filter results when a query or filter is active.
+    // Expired jobs are shown, labelled, unless the "Open" status filter is selected.
+    private void refreshDisplayedJobs() {
+        boolean filtering = facetIndex != null && !JobFacetIndex.isEmpty(facetSelection);
+        int shown = ranking != null ? rankedShown : PAGE_SIZE;
+        ranking = null;
+        List<Job> results;
+        boolean complete = true;
+        if (!isSearching() && !filtering && isRanked()) {
+            // Re-ranked in full, but only as many cards as were on screen are created
+            ranking = skillRanker.rank();
+            rankedShown = Math.min(shown, ranking.length);
+            results = skillRanker.jobsAt(ranking, 0, rankedShown);
+        } else if (!isSearching() && !filtering) {
+            results = jobList;
+            complete = endReached;
+        } else if (isSearching()) {
+            // Results show up from onIndexReady if the index is still being built
+            if (searchIndex == null) return;
+            results = searchIndex.search(searchQuery);
+            if (filtering) results = facetIndex.retain(results, facetIndex.filter(facetSelection));
+        } else {
+            // Newest first, or by skill match with ties newest first once the user has skills
+            results = facetIndex.jobsFor(facetIndex.filter(facetSelection));
+            Collections.sort(results, JobDates.NEWEST_FIRST);
+            if (isRanked()) results = skillRanker.sortByMatch(results);
+        }
+        jobAdapter.setJobs(results);
+        showEmptyState(complete && results.isEmpty());
+        if (!complete && results.isEmpty()) loadNextPage();
+    }
+
+    private void showEmptyState(boolean show) {
+        jobsEmpty.setVisibility(show ? View.VISIBLE : View.GONE);
+    }
+
+    private boolean isSearching() {
+        return !searchQuery.isEmpty();
+    }
+
+    private boolean isRanked() {
+        return skillRanker != null && skillRanker.hasUserSkills();
+    }
+
+    private void showNextRankedPage() {
+        int end = Math.min(rankedShown + PAGE_SIZE, ranking.length);
+        if (end == rankedShown) return;
+        jobAdapter.appendJobs(skillRanker.jobsAt(ranking, rankedShown, end));
+        rankedShown = end;
+    }
+
+    // Search and filter results cover the whole catalog, so paging is paused while either is active
+    private boolean showsWholeCatalog() {
+        return isSearching() || !JobFacetIndex.isEmpty(facetSelection);
+    }
+
+    private void showJobsPlaceholder(boolean show) {
+        jobsPlaceholder.setVisibility(show ? View.VISIBLE : View.GONE);
+        recyclerJobs.setVisibility(show ? View.INVISIBLE : View.VISIBLE);
     }
 
     private void setupBottomNavigation() {
@@ -104,6 +333,7 @@ public class HomeActivity extends AppCompatActivity {
 
     private void setupClickListeners() {
         findViewById(R.id.btnUpload).setOnClickListener(v -> uploadResume());
+        findViewById(R.id.btnFilterJobs).setOnClickListener(v -> showFilterSheet());
         
         findViewById(R.id.btnCreateNew).setOnClickListener(v -> {
             Intent intent = new Intent(this, ResumeBuilderActivity.class);
@@ -139,7 +369,7 @@ public class HomeActivity extends AppCompatActivity {
 
         // Upload file
         ApiService apiService = new ApiService(this);
-        apiService.uploadPdf(fileUri, new ApiService.ApiCallback() {
+        apiService.uploadPdfChunked(fileUri, new ApiService.ApiCallback() {
             @Override
             public void onSuccess(String message) {
                 progressDialog.dismiss();
@@ -151,7 +381,7 @@ public class HomeActivity extends AppCompatActivity {
                 progressDialog.dismiss();
                 showUploadErrorDialog(error);
             }
-        });
+        }, percent -> progressDialog.setMessage("Uploading resume... " + percent + "%"));
     }
 
     private void showUploadSuccessDialog(String message) {
@@ -0,0 +1,44 @@
+package com.example.starplan;
+
+import android.content.Context;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+
+/**
+ * The app's single OkHttpClient.
+ * Every backend call goes through it, so they share one connection pool (keep-alive
+ * connections to the backend are reused across screens), one dispatcher thread pool and
+ * one HTTP disk cache. Callers needing different timeouts should derive a client with
+ * {@code get(context).newBuilder()}, which keeps sharing all of these.
+ */
+public final class HttpClient {
+    public static final String BASE_URL = "http://10.0.2.2:5000"; // Standard emulator mapping
+    // Alternative URLs if this doesn't work:
+    // public static final String BASE_URL = "http://192.168.4.22:5000"; // Your computer's IP
+    // public static final String BASE_URL = "http://192.168.56.1:5000"; // VirtualBox network
+
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+
+    private static volatile OkHttpClient client;
+
+    private HttpClient() {}
+
+    public static OkHttpClient get(Context context) {
+        if (client == null) {
+            synchronized (HttpClient.class) {
+                if (client == null) {
+                    File cacheDir = new File(context.getApplicationContext().getCacheDir(), "http");
+                    client = new OkHttpClient.Builder()
+                        .cache(new Cache(cacheDir, CACHE_SIZE_BYTES))
+                        .connectTimeout(30, TimeUnit.SECONDS)
+                        .readTimeout(60, TimeUnit.SECONDS)
+                        .writeTimeout(60, TimeUnit.SECONDS)
+                        .build();
+                }
+            }
+        }
+        return client;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.starplan;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class Job {
@@ -9,7 +10,8 @@ public class Job {
     public String description;
     public List<String> responsibilities;
     public List<String> qualifications;
-    public List<String> skills;
+    // Ids in SkillDictionary.shared(); names are resolved only when displayed
+    public int[] skillIds;
     public String location;
     public String employmentType;
     public String experienceLevel;
@@ -17,10 +19,40 @@ public class Job {
     public String salaryRange;
     public String datePosted;
     public String validThrough;
+    // datePosted / validThrough as UTC epoch millis, or JobDates.UNKNOWN; see parseDates()
+    public long postedAtMillis = JobDates.UNKNOWN;
+    public long validThroughMillis = JobDates.UNKNOWN;
+    // Built with the job by JobRepository; read through JobRepository.getDisplayModel()
+    JobDisplayModel displayModel;
 
     // Constructor
     public Job() {}
 
+    /**
+     * Parses datePosted and validThrough into their epoch fields. Called once by the
+     * catalog decoders, so sorting and expiry checks never touch the strings.
+     */
+    void parseDates() {
+        postedAtMillis = JobDates.parseDay(datePosted);
+        validThroughMillis = JobDates.parseDay(validThrough);
+    }
+
+    public int getSkillCount() {
+        return skillIds != null ? skillIds.length : 0;
+    }
+
+    public String getSkill(int index) {
+        return SkillDictionary.shared().name(skillIds[index]);
+    }
+
+    public List<String> getSkills() {
+        List<String> skills = new ArrayList<>(getSkillCount());
+        for (int i = 0; i < getSkillCount(); i++) {
+            skills.add(getSkill(i));
+        }
+        return skills;
+    }
+
     // Helper method to get company initials for avatar
     public String getCompanyInitials() {
         if (company == null || company.isEmpty()) return "??";
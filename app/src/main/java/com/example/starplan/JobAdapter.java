@@ -1,8 +1,5 @@
 package com.example.starplan;
 
-import static android.content.ContentValues.TAG;
-import static android.webkit.ConsoleMessage.MessageLevel.LOG;
-
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Color;
@@ -14,78 +11,143 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
-public class JobAdapter extends RecyclerView.Adapter<JobAdapter.JobViewHolder> {
-    private List<Job> jobs;
+public class JobAdapter extends ListAdapter<Job, JobAdapter.JobViewHolder> {
+    private static final String TAG = "JobAdapter";
+    // Jobs come from JobRepository and are never modified, so an unchanged job is the same object
+    private static final DiffUtil.ItemCallback<Job> DIFF_CALLBACK = new DiffUtil.ItemCallback<Job>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Job oldItem, @NonNull Job newItem) {
+            return oldItem.id == newItem.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Job oldItem, @NonNull Job newItem) {
+            return oldItem == newItem;
+        }
+    };
+
+    // Skills shown per card; the holder creates this many chips once and reuses them
+    static final int MAX_SKILL_CHIPS = JobDisplayModel.MAX_CARD_SKILLS;
+    // Partial rebind of only the "posted" label when the day changes
+    private static final Object PAYLOAD_POSTED = new Object();
+
     private Context context;
-    private Random random = new Random();
+    private final JobRepository repository;
+    private long now = System.currentTimeMillis();
+    // Last submitted list; getCurrentList() lags behind it while a diff is still running
+    private List<Job> latestJobs;
 
     public JobAdapter(Context context, List<Job> jobs) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.jobs = jobs;
+        this.repository = JobRepository.getInstance(context);
+        setHasStableIds(true);
+        setJobs(jobs);
     }
 
     @NonNull
     @Override
     public JobViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.item_job, parent, false);
-        return new JobViewHolder(view);
+        JobViewHolder holder = new JobViewHolder(view);
+
+        // One listener per holder, looking up whichever job it is bound to when clicked
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) return;
+            Job job = getItem(position);
+            Intent intent = new Intent(context, JobDetailActivity.class);
+            intent.putExtra("job_id", job.id);
+            Log.d(TAG, "Job id is " + job.id );
+            context.startActivity(intent);
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull JobViewHolder holder, int position) {
-        Job job = jobs.get(position);
+        Job job = getItem(position);
+        // Initials, colour, card skills and the posted label are precomputed off the main thread
+        JobDisplayModel display = repository.getDisplayModel(job);
         
         holder.jobTitle.setText(job.jobTitle);
         holder.companyName.setText(job.company);
-        holder.companyInitials.setText(job.getCompanyInitials());
+        holder.companyInitials.setText(display.initials);
         holder.salaryRange.setText(job.salaryRange);
+        holder.companyAvatar.setCardBackgroundColor(display.avatarColor);
         
-        // Generate random avatar color
-        int[] colors = {
-            Color.parseColor("#5E6BFF"),
-            Color.parseColor("#FF6B6B"),
-            Color.parseColor("#4ECDC4"),
-            Color.parseColor("#45B7D1"),
-            Color.parseColor("#96CEB4"),
-            Color.parseColor("#FECA57")
-        };
-        holder.companyAvatar.setCardBackgroundColor(colors[position % colors.length]);
-        
-        // Add skills chips (limit to first 3 for space)
-        holder.skillsChipGroup.removeAllViews();
-        int skillCount = Math.min(3, job.skills.size());
-        for (int i = 0; i < skillCount; i++) {
-            Chip chip = new Chip(context);
-            chip.setText(job.skills.get(i));
-            chip.setChipBackgroundColorResource(android.R.color.transparent);
-            chip.setChipStrokeColorResource(R.color.brand_blue);
-            chip.setChipStrokeWidth(2f);
-            chip.setTextColor(Color.parseColor("#5E6BFF"));
-            chip.setTextSize(12f);
-            holder.skillsChipGroup.addView(chip);
+        // Skills chips (first 3 for space): reuse the holder's chips, hiding the unused ones
+        int skillCount = display.cardSkills.size();
+        for (int i = 0; i < MAX_SKILL_CHIPS; i++) {
+            Chip chip = holder.skillChips[i];
+            if (i < skillCount) {
+                chip.setText(display.cardSkills.get(i));
+                chip.setVisibility(View.VISIBLE);
+            } else {
+                chip.setVisibility(View.GONE);
+            }
         }
         
-        // Calculate time posted (simplified)
-        holder.timePosted.setText("Posted 3 days ago");
-        
-        // Click listener to open job details
-        holder.itemView.setOnClickListener(v -> {
-            Intent intent = new Intent(context, JobDetailActivity.class);
-            intent.putExtra("job_id", job.id);
-            Log.d(TAG, "Job id is " + job.id );
-            context.startActivity(intent);
-        });
+        holder.timePosted.setText(JobDates.statusLabel(job, now));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull JobViewHolder holder, int position, @NonNull List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_POSTED) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.timePosted.setText(JobDates.statusLabel(getItem(position), now));
+        }
+    }
+
+    /**
+     * Updates the clock used for "posted" labels, typically from {@link MinuteTicker}.
+     * Labels count whole days, so cards are only rebound when the day changes.
+     */
+    public void setNow(long now) {
+        boolean dayChanged = JobDates.localDay(now) != JobDates.localDay(this.now);
+        this.now = now;
+        if (dayChanged) notifyItemRangeChanged(0, getItemCount(), PAYLOAD_POSTED);
     }
 
     @Override
-    public int getItemCount() {
-        return jobs.size();
+    public long getItemId(int position) {
+        return getItem(position).id;
+    }
+
+    /**
+     * Replaces the displayed jobs, e.g. with search results or the restored feed.
+     * The difference is computed in the background and applied as item moves,
+     * inserts and removals.
+     */
+    public void setJobs(List<Job> newJobs) {
+        latestJobs = new ArrayList<>(newJobs);
+        submitList(latestJobs);
+    }
+
+    /**
+     * Appends a freshly loaded page to the end of the feed.
+     */
+    public void appendJobs(List<Job> page) {
+        if (page.isEmpty()) return;
+        List<Job> jobs = new ArrayList<>(latestJobs);
+        jobs.addAll(page);
+        latestJobs = jobs;
+        submitList(jobs);
     }
 
     public static class JobViewHolder extends RecyclerView.ViewHolder {
@@ -93,6 +155,7 @@ public class JobAdapter extends RecyclerView.Adapter<JobAdapter.JobViewHolder> {
         CardView companyAvatar;
         ChipGroup skillsChipGroup;
         ImageView favoriteIcon;
+        final Chip[] skillChips = new Chip[MAX_SKILL_CHIPS];
 
         public JobViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -104,6 +167,19 @@ public class JobAdapter extends RecyclerView.Adapter<JobAdapter.JobViewHolder> {
             timePosted = itemView.findViewById(R.id.timePosted);
             skillsChipGroup = itemView.findViewById(R.id.skillsChipGroup);
             favoriteIcon = itemView.findViewById(R.id.favoriteIcon);
+
+            int chipTextColor = Color.parseColor("#5E6BFF");
+            for (int i = 0; i < MAX_SKILL_CHIPS; i++) {
+                Chip chip = new Chip(itemView.getContext());
+                chip.setChipBackgroundColorResource(android.R.color.transparent);
+                chip.setChipStrokeColorResource(R.color.brand_blue);
+                chip.setChipStrokeWidth(2f);
+                chip.setTextColor(chipTextColor);
+                chip.setTextSize(12f);
+                chip.setVisibility(View.GONE);
+                skillsChipGroup.addView(chip);
+                skillChips[i] = chip;
+            }
         }
     }
 }
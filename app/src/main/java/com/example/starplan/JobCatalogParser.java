@@ -0,0 +1,140 @@
+package com.example.starplan;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for the job catalog JSON array.
+ * Jobs are decoded one at a time straight from the input stream, so callers can
+ * stop after the first N records without reading (or buffering) the rest of the file.
+ */
+public class JobCatalogParser implements Closeable {
+    private final JsonReader reader;
+    private boolean started;
+    private boolean finished;
+
+    public JobCatalogParser(InputStream in) {
+        this.reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns true if another job is available in the array.
+     */
+    public boolean hasNext() throws IOException {
+        if (finished) return false;
+        if (!started) {
+            reader.beginArray();
+            started = true;
+        }
+        if (reader.hasNext()) return true;
+        reader.endArray();
+        finished = true;
+        return false;
+    }
+
+    /**
+     * Decodes the next job. Call {@link #hasNext()} first.
+     */
+    public Job next() throws IOException {
+        return readJob();
+    }
+
+    /**
+     * Skips up to {@code count} jobs without decoding them. Returns how many were skipped.
+     */
+    public int skip(int count) throws IOException {
+        int skipped = 0;
+        while (skipped < count && hasNext()) {
+            reader.skipValue();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    private Job readJob() throws IOException {
+        Job job = new Job();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    job.id = reader.nextInt();
+                    break;
+                case "jobTitle":
+                    job.jobTitle = reader.nextString();
+                    break;
+                case "company":
+                    job.company = reader.nextString();
+                    break;
+                case "description":
+                    job.description = reader.nextString();
+                    break;
+                case "responsibilities":
+                    job.responsibilities = readStringList();
+                    break;
+                case "qualifications":
+                    job.qualifications = readStringList();
+                    break;
+                case "skills":
+                    job.skillIds = SkillDictionary.shared().internAll(readStringList());
+                    break;
+                case "location":
+                    job.location = reader.nextString();
+                    break;
+                case "employmentType":
+                    job.employmentType = reader.nextString();
+                    break;
+                case "experienceLevel":
+                    job.experienceLevel = reader.nextString();
+                    break;
+                case "remote":
+                    job.remote = reader.nextString();
+                    break;
+                case "salaryRange":
+                    job.salaryRange = reader.nextString();
+                    break;
+                case "datePosted":
+                    job.datePosted = reader.nextString();
+                    break;
+                case "validThrough":
+                    job.validThrough = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        job.parseDates();
+        return job;
+    }
+
+    private List<String> readStringList() throws IOException {
+        List<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            // The same bullet points recur across many jobs; keep one copy of each
+            values.add(reader.nextString().intern());
+        }
+        reader.endArray();
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
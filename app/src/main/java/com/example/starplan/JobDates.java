@@ -0,0 +1,139 @@
+package com.example.starplan;
+
+import java.util.Comparator;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog dates as epoch milliseconds, and the labels derived from them.
+ *
+ * datePosted and validThrough are ISO yyyy-MM-dd days, parsed once when a job is decoded
+ * (see {@link Job#parseDates()}) and compared as plain longs afterwards. They are stored as
+ * UTC midnight of that date and compared with the device's local date ({@link #localDay}),
+ * so relative labels and expiry change at local midnight.
+ */
+public final class JobDates {
+    public static final long UNKNOWN = Long.MIN_VALUE;
+    public static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    // Unknown dates sort last
+    public static final Comparator<Job> NEWEST_FIRST = (a, b) -> Long.compare(b.postedAtMillis, a.postedAtMillis);
+
+    public static final String EXPIRED_LABEL = "Expired";
+
+    // Labels for "posted N days ago", filled in lazily; racing writers store equal strings
+    private static final String[] postedLabels = new String[366];
+    // Every card bound in one clock tick asks about the same instant, so its local day is
+    // remembered rather than copying the default TimeZone per call. A time zone change
+    // shows up with the next tick.
+    private static volatile LocalDay lastLocalDay = new LocalDay(UNKNOWN, 0);
+
+    private JobDates() {}
+
+    /**
+     * Start of the given yyyy-MM-dd day in UTC epoch milliseconds, or {@link #UNKNOWN}.
+     */
+    public static long parseDay(String date) {
+        if (date == null || date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return UNKNOWN;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) return UNKNOWN;
+        return epochDayOf(year, month, day) * DAY_MILLIS;
+    }
+
+    public static long epochDay(long millis) {
+        return Math.floorDiv(millis, DAY_MILLIS);
+    }
+
+    /**
+     * The date in the default time zone at {@code millis}, as days since 1970-01-01; the
+     * same numbering as {@link #epochDay} gives a parsed catalog date.
+     */
+    public static long localDay(long millis) {
+        LocalDay last = lastLocalDay;
+        if (last.millis != millis) {
+            long offset = TimeZone.getDefault().getOffset(millis);
+            last = new LocalDay(millis, Math.floorDiv(millis + offset, DAY_MILLIS));
+            lastLocalDay = last;
+        }
+        return last.day;
+    }
+
+    /**
+     * True once the last day of the job's validThrough date has passed locally.
+     */
+    public static boolean isExpired(Job job, long nowMillis) {
+        return job.validThroughMillis != UNKNOWN && localDay(nowMillis) > epochDay(job.validThroughMillis);
+    }
+
+    /**
+     * What a job card shows under the title: "Expired" once the job has expired,
+     * otherwise its {@link #postedLabel posted label}.
+     */
+    public static String statusLabel(Job job, long nowMillis) {
+        return isExpired(job, nowMillis) ? EXPIRED_LABEL : postedLabel(job, nowMillis);
+    }
+
+    /**
+     * "Posted 3 days ago" style label, or "" when the posting date is unknown.
+     * Labels are cached, so calling this while binding does not allocate.
+     */
+    public static String postedLabel(Job job, long nowMillis) {
+        if (job.postedAtMillis == UNKNOWN) return "";
+        long days = Math.max(0, localDay(nowMillis) - epochDay(job.postedAtMillis));
+        if (days >= postedLabels.length) return "Posted over a year ago";
+        String label = postedLabels[(int) days];
+        if (label == null) {
+            label = formatPosted(days);
+            postedLabels[(int) days] = label;
+        }
+        return label;
+    }
+
+    private static String formatPosted(long days) {
+        if (days == 0) return "Posted today";
+        if (days == 1) return "Posted yesterday";
+        if (days < 7) return "Posted " + days + " days ago";
+        if (days < 30) return plural(days / 7, "week");
+        // Days 360-364 are still under a year, not "12 months"
+        if (days < 365) return plural(Math.min(days / 30, 11), "month");
+        return "Posted over a year ago";
+    }
+
+    private static String plural(long count, String unit) {
+        return "Posted " + count + " " + unit + (count == 1 ? "" : "s") + " ago";
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static final class LocalDay {
+        final long millis;
+        final long day;
+
+        LocalDay(long millis, long day) {
+            this.millis = millis;
+            this.day = day;
+        }
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar
+    private static long epochDayOf(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
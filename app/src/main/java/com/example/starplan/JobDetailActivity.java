@@ -3,7 +3,6 @@ package com.example.starplan;
 import static android.content.ContentValues.TAG;
 import static android.webkit.ConsoleMessage.MessageLevel.LOG;
 
-import android.graphics.Color;
 import android.content.Intent; // Added import
 import android.os.Bundle;
 import android.util.Log;
@@ -13,26 +12,19 @@ import android.widget.Toast;
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
+import androidx.core.content.ContextCompat;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.tabs.TabLayout;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.lang.reflect.Type;
-import java.util.List;
-import java.util.Random;
 
 
 public class JobDetailActivity extends AppCompatActivity {
     private Job currentJob;
     private TabLayout tabLayout;
     private View descriptionContent, companyContent, aiSummaryContent;
-    private Random random = new Random();
+    private View jobDetailContent, progressJobDetail;
 
     //int jobId;
 
@@ -60,6 +52,8 @@ public class JobDetailActivity extends AppCompatActivity {
         descriptionContent = findViewById(R.id.descriptionContent);
         companyContent = findViewById(R.id.companyContent);
         aiSummaryContent = findViewById(R.id.aiSummaryContent);
+        jobDetailContent = findViewById(R.id.jobDetailContent);
+        progressJobDetail = findViewById(R.id.progressJobDetail);
     }
 
     private void loadJobData() {
@@ -67,35 +61,34 @@ public class JobDetailActivity extends AppCompatActivity {
         int jobIdFromIntent = getIntent().getIntExtra("job_id", 1); // Renamed to avoid confusion
         Log.d(TAG, "Job id from intent is " + jobIdFromIntent );
 
-        try {
-            // Read JSON from assets
-            InputStream is = getAssets().open("job_listings.json");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-            StringBuilder jsonBuilder = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                jsonBuilder.append(line);
+        // Lookup runs off the main thread; a spinner is shown until the job arrives
+        showLoading(true);
+        JobRepository.getInstance(this).loadJobAsync(this, jobIdFromIntent, new JobRepository.JobCallback() {
+            @Override
+            public void onJobLoaded(Job job) {
+                showLoading(false);
+                if (job == null) {
+                    // No job with this id in the catalog
+                    Toast.makeText(JobDetailActivity.this, "Job not found", Toast.LENGTH_SHORT).show();
+                    finish();
+                    return;
+                }
+                currentJob = job;
+                populateJobDetails();
             }
-            reader.close();
-
-            // Parse JSON and find job by ID
-            String jsonString = jsonBuilder.toString();
-            Gson gson = new Gson();
-            Type jobListType = new TypeToken<List<Job>>(){}.getType();
-            List<Job> jobs = gson.fromJson(jsonString, jobListType);
-
-            // Find the job with matching ID
-            currentJob = jobs.stream()
-                    .filter(job -> job.id == jobIdFromIntent)
-                    .findFirst()
-                    .orElse(jobs.get(0)); // fallback to first job
 
-            populateJobDetails();
+            @Override
+            public void onError(IOException e) {
+                showLoading(false);
+                Toast.makeText(JobDetailActivity.this, "Error loading job data", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            Toast.makeText(this, "Error loading job data", Toast.LENGTH_SHORT).show();
-        }
+    private void showLoading(boolean loading) {
+        progressJobDetail.setVisibility(loading ? View.VISIBLE : View.GONE);
+        jobDetailContent.setVisibility(loading ? View.INVISIBLE : View.VISIBLE);
+        findViewById(R.id.btnApply).setEnabled(!loading);
     }
 
     private void populateJobDetails() {
@@ -117,32 +110,25 @@ public class JobDetailActivity extends AppCompatActivity {
 
         jobTitle.setText(currentJob.jobTitle);
         companyName.setText(currentJob.company);
-        companyInitials.setText(currentJob.getCompanyInitials());
+        JobDisplayModel display = JobRepository.getInstance(this).getDisplayModel(currentJob);
+        companyInitials.setText(display.initials);
         location.setText(currentJob.location);
         salaryRange.setText(currentJob.salaryRange);
         employmentType.setText(currentJob.employmentType);
 
-        // Random avatar color
-        int[] colors = {
-            Color.parseColor("#5E6BFF"),
-            Color.parseColor("#FF6B6B"),
-            Color.parseColor("#4ECDC4"),
-            Color.parseColor("#45B7D1"),
-            Color.parseColor("#96CEB4"),
-            Color.parseColor("#FECA57")
-        };
-        companyAvatar.setCardBackgroundColor(colors[random.nextInt(colors.length)]);
+        // Same avatar colour as the job's card in the feed
+        companyAvatar.setCardBackgroundColor(display.avatarColor);
 
         // Skills chips
         ChipGroup skillsGroup = findViewById(R.id.skillsChipGroup);
         skillsGroup.removeAllViews();
-        for (String skill : currentJob.skills) {
+        for (int i = 0; i < currentJob.getSkillCount(); i++) {
             Chip chip = new Chip(this);
-            chip.setText(skill);
+            chip.setText(currentJob.getSkill(i));
             chip.setChipBackgroundColorResource(android.R.color.transparent);
             chip.setChipStrokeColorResource(R.color.brand_blue);
             chip.setChipStrokeWidth(2f);
-            chip.setTextColor(Color.parseColor("#5E6BFF"));
+            chip.setTextColor(ContextCompat.getColor(this, R.color.brand_blue));
             chip.setTextSize(12f);
             skillsGroup.addView(chip);
         }
@@ -163,19 +149,10 @@ public class JobDetailActivity extends AppCompatActivity {
 
         jobDescription.setText(currentJob.description);
 
-        // Format responsibilities as bullet points
-        StringBuilder responsibilitiesText = new StringBuilder();
-        for (String responsibility : currentJob.responsibilities) {
-            responsibilitiesText.append("• ").append(responsibility).append("\n");
-        }
-        responsibilities.setText(responsibilitiesText.toString().trim());
-
-        // Format qualifications as bullet points
-        StringBuilder qualificationsText = new StringBuilder();
-        for (String qualification : currentJob.qualifications) {
-            qualificationsText.append("• ").append(qualification).append("\n");
-        }
-        qualifications.setText(qualificationsText.toString().trim());
+        // Bullet points are formatted once, when the job is loaded
+        JobDisplayModel display = JobRepository.getInstance(this).getDisplayModel(currentJob);
+        responsibilities.setText(display.responsibilitiesText);
+        qualifications.setText(display.qualificationsText);
 
         // Company tab
         TextView companyInfo = findViewById(R.id.companyInfo);
@@ -188,7 +165,7 @@ public class JobDetailActivity extends AppCompatActivity {
                 currentJob.company,
                 currentJob.experienceLevel.toLowerCase(),
                 currentJob.salaryRange,
-                currentJob.skills.isEmpty() ? "technical" : currentJob.skills.get(0),
+                currentJob.getSkillCount() == 0 ? "technical" : currentJob.getSkill(0),
                 currentJob.remote.toLowerCase()
         ));
     }
@@ -0,0 +1,55 @@
+package com.example.starplan;
+
+import android.content.res.ColorStateList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the job card and detail header show that has to be derived from a {@link Job}:
+ * company initials, avatar colour, the skills that fit on a card and bullet-point text.
+ * The relative "posted" label depends on the clock and comes from {@link JobDates}.
+ * Built once per job by {@link JobRepository} on its loader thread, so binding only
+ * assigns precomputed values.
+ */
+public final class JobDisplayModel {
+    public static final int MAX_CARD_SKILLS = 3;
+
+    public final int jobId;
+    public final String initials;
+    public final ColorStateList avatarColor;
+    public final List<String> cardSkills;
+    public final String responsibilitiesText;
+    public final String qualificationsText;
+
+    private JobDisplayModel(Job job) {
+        jobId = job.id;
+        initials = job.getCompanyInitials();
+        avatarColor = AvatarPalette.colorFor(job.id);
+
+        int skillCount = Math.min(MAX_CARD_SKILLS, job.getSkillCount());
+        List<String> skills = new ArrayList<>(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            skills.add(job.getSkill(i));
+        }
+        cardSkills = Collections.unmodifiableList(skills);
+
+        responsibilitiesText = bullets(job.responsibilities);
+        qualificationsText = bullets(job.qualifications);
+    }
+
+    public static JobDisplayModel build(Job job) {
+        return new JobDisplayModel(job);
+    }
+
+    // One "• item" line per entry
+    private static String bullets(List<String> items) {
+        if (items == null || items.isEmpty()) return "";
+        StringBuilder text = new StringBuilder();
+        for (String item : items) {
+            if (text.length() > 0) text.append('\n');
+            text.append("• ").append(item);
+        }
+        return text.toString();
+    }
+}
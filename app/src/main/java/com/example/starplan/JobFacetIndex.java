@@ -0,0 +1,278 @@
+package com.example.starplan;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Facet index over the job catalog.
+ *
+ * Every facet value owns a BitSet of the jobs (by catalog position) that carry it, so a
+ * filter is answered by OR-ing the selected values within a facet and AND-ing across
+ * facets. {@code salaryRange} is parsed once into annual min/max figures and exposed
+ * as a set of "at least" salary bands.
+ *
+ * The POSTED and STATUS facets depend on the clock: they are recomputed from the parsed
+ * posting and validThrough dates whenever {@link #setNow(long)} moves to a new day.
+ * Expired jobs are only left out when the STATUS facet's "Open" value is selected.
+ * Main thread only after construction.
+ */
+public class JobFacetIndex {
+    public enum Facet { LOCATION, EMPLOYMENT_TYPE, EXPERIENCE_LEVEL, REMOTE, SALARY, POSTED, STATUS }
+
+    public static final String STATUS_OPEN = "Open";
+    public static final String STATUS_EXPIRED = "Expired";
+
+    // Lower bounds (annual, in dollars) of the salary bands offered as filter values
+    private static final int[] SALARY_BANDS = {50_000, 100_000, 150_000, 200_000};
+    private static final int HOURS_PER_YEAR = 40 * 52;
+    // Recency bands: posted within this many days
+    private static final int[] POSTED_BANDS = {1, 7, 30};
+    private static final Pattern SALARY_PATTERN =
+            Pattern.compile("\\$?([\\d.,]+)\\s*(k?)\\s*-\\s*\\$?([\\d.,]+)\\s*(k?)\\s*(?:per\\s+(year|hour))?",
+                    Pattern.CASE_INSENSITIVE);
+
+    private final List<Job> jobs;
+    private final Map<Integer, Integer> positionById;
+    private final int[] salaryMin;
+    private final int[] salaryMax;
+    private final long[] postedAt;
+    private final long[] validThrough;
+    private final Map<Facet, Map<String, BitSet>> facets = new EnumMap<>(Facet.class);
+    private long currentDay = Long.MIN_VALUE;
+
+    public JobFacetIndex(List<Job> jobs) {
+        this.jobs = new ArrayList<>(jobs);
+        int count = this.jobs.size();
+        positionById = new HashMap<>(count * 2);
+        salaryMin = new int[count];
+        salaryMax = new int[count];
+        postedAt = new long[count];
+        validThrough = new long[count];
+
+        Map<Facet, Map<String, BitSet>> sorted = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            sorted.put(facet, new TreeMap<>());
+        }
+
+        for (int i = 0; i < count; i++) {
+            Job job = this.jobs.get(i);
+            positionById.put(job.id, i);
+            add(sorted.get(Facet.LOCATION), job.location, i);
+            add(sorted.get(Facet.EMPLOYMENT_TYPE), job.employmentType, i);
+            add(sorted.get(Facet.EXPERIENCE_LEVEL), job.experienceLevel, i);
+            add(sorted.get(Facet.REMOTE), job.remote, i);
+
+            int[] salary = parseAnnualSalary(job.salaryRange);
+            salaryMin[i] = salary != null ? salary[0] : -1;
+            salaryMax[i] = salary != null ? salary[1] : -1;
+            postedAt[i] = job.postedAtMillis;
+            validThrough[i] = job.validThroughMillis;
+        }
+
+        for (Facet facet : Facet.values()) {
+            if (facet != Facet.SALARY && facet != Facet.POSTED && facet != Facet.STATUS) {
+                facets.put(facet, Collections.unmodifiableMap(new LinkedHashMap<>(sorted.get(facet))));
+            }
+        }
+
+        // Salary bands: a job qualifies when the top of its range reaches the band
+        Map<String, BitSet> bands = new LinkedHashMap<>();
+        for (int band : SALARY_BANDS) {
+            BitSet bits = new BitSet(count);
+            for (int i = 0; i < count; i++) {
+                if (salaryMax[i] >= band) bits.set(i);
+            }
+            bands.put(salaryBandLabel(band), bits);
+        }
+        facets.put(Facet.SALARY, Collections.unmodifiableMap(bands));
+        setNow(System.currentTimeMillis());
+    }
+
+    /**
+     * Moves the index's clock. Recency bands and open/expired status are only rebuilt when
+     * the local date changes; returns true if they were.
+     */
+    public boolean setNow(long nowMillis) {
+        long day = JobDates.localDay(nowMillis);
+        if (day == currentDay) return false;
+        currentDay = day;
+
+        int count = jobs.size();
+        long dayStart = day * JobDates.DAY_MILLIS;
+        BitSet open = new BitSet(count);
+        for (int i = 0; i < count; i++) {
+            // Valid through the whole of its last day; jobs without a date never expire
+            if (validThrough[i] == JobDates.UNKNOWN || validThrough[i] >= dayStart) open.set(i);
+        }
+        BitSet expired = (BitSet) open.clone();
+        expired.flip(0, count);
+        Map<String, BitSet> status = new LinkedHashMap<>();
+        status.put(STATUS_OPEN, open);
+        status.put(STATUS_EXPIRED, expired);
+        facets.put(Facet.STATUS, Collections.unmodifiableMap(status));
+
+        Map<String, BitSet> recent = new LinkedHashMap<>();
+        for (int days : POSTED_BANDS) {
+            long since = dayStart - (days - 1) * JobDates.DAY_MILLIS;
+            BitSet bits = new BitSet(count);
+            for (int i = 0; i < count; i++) {
+                if (postedAt[i] != JobDates.UNKNOWN && postedAt[i] >= since) bits.set(i);
+            }
+            recent.put(postedBandLabel(days), bits);
+        }
+        facets.put(Facet.POSTED, Collections.unmodifiableMap(recent));
+        return true;
+    }
+
+    /**
+     * Filter values for a facet, in display order.
+     */
+    public List<String> getValues(Facet facet) {
+        return new ArrayList<>(facets.get(facet).keySet());
+    }
+
+    /**
+     * Jobs matching the selection: any selected value within a facet, all facets combined.
+     * Facets with no selected values do not filter.
+     */
+    public BitSet filter(Map<Facet, Set<String>> selection) {
+        return filterExcept(selection, null);
+    }
+
+    /**
+     * Number of jobs each value of {@code facet} would match given the other facets'
+     * selections, so counts stay meaningful while values of the same facet are toggled.
+     */
+    public Map<String, Integer> counts(Facet facet, Map<Facet, Set<String>> selection) {
+        BitSet base = filterExcept(selection, facet);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, BitSet> entry : facets.get(facet).entrySet()) {
+            BitSet matching = (BitSet) entry.getValue().clone();
+            matching.and(base);
+            counts.put(entry.getKey(), matching.cardinality());
+        }
+        return counts;
+    }
+
+    /**
+     * Jobs for a filter result, in catalog order.
+     */
+    public List<Job> jobsFor(BitSet matches) {
+        List<Job> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(jobs.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the jobs of {@code candidates} that are in a filter result, preserving their order.
+     */
+    public List<Job> retain(List<Job> candidates, BitSet matches) {
+        List<Job> result = new ArrayList<>();
+        for (Job job : candidates) {
+            Integer position = positionById.get(job.id);
+            if (position != null && matches.get(position)) result.add(job);
+        }
+        return result;
+    }
+
+    /**
+     * Annual salary bounds parsed from the job's salaryRange, or -1 if it could not be parsed.
+     */
+    public int getSalaryMin(Job job) {
+        Integer position = positionById.get(job.id);
+        return position != null ? salaryMin[position] : -1;
+    }
+
+    public int getSalaryMax(Job job) {
+        Integer position = positionById.get(job.id);
+        return position != null ? salaryMax[position] : -1;
+    }
+
+    public static boolean isEmpty(Map<Facet, Set<String>> selection) {
+        for (Set<String> values : selection.values()) {
+            if (!values.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses "$123k-$228k per year" or "$25-$40 per hour" into annual {min, max} dollars.
+     * Hourly rates assume a 40-hour week. Returns null for anything else.
+     */
+    static int[] parseAnnualSalary(String salaryRange) {
+        if (salaryRange == null) return null;
+        Matcher matcher = SALARY_PATTERN.matcher(salaryRange.trim());
+        if (!matcher.find()) return null;
+        try {
+            double min = amount(matcher.group(1), matcher.group(2));
+            double max = amount(matcher.group(3), matcher.group(4));
+            if ("hour".equalsIgnoreCase(matcher.group(5))) {
+                min *= HOURS_PER_YEAR;
+                max *= HOURS_PER_YEAR;
+            }
+            return new int[]{(int) Math.round(min), (int) Math.round(max)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static double amount(String digits, String thousands) {
+        double value = Double.parseDouble(digits.replace(",", ""));
+        return thousands.isEmpty() ? value : value * 1000;
+    }
+
+    private static String salaryBandLabel(int band) {
+        return "$" + (band / 1000) + "k+";
+    }
+
+    private static String postedBandLabel(int days) {
+        switch (days) {
+            case 1:
+                return "Today";
+            case 7:
+                return "Past week";
+            case 30:
+                return "Past month";
+            default:
+                return "Past " + days + " days";
+        }
+    }
+
+    private BitSet filterExcept(Map<Facet, Set<String>> selection, Facet skipped) {
+        BitSet result = new BitSet(jobs.size());
+        result.set(0, jobs.size());
+        for (Map.Entry<Facet, Set<String>> entry : selection.entrySet()) {
+            if (entry.getKey() == skipped || entry.getValue().isEmpty()) continue;
+            Map<String, BitSet> values = facets.get(entry.getKey());
+            BitSet union = new BitSet(jobs.size());
+            for (String value : entry.getValue()) {
+                BitSet bits = values.get(value);
+                if (bits != null) union.or(bits);
+            }
+            result.and(union);
+        }
+        return result;
+    }
+
+    private static void add(Map<String, BitSet> values, String value, int position) {
+        if (value == null || value.isEmpty()) return;
+        BitSet bits = values.get(value);
+        if (bits == null) {
+            bits = new BitSet();
+            values.put(value, bits);
+        }
+        bits.set(position);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.starplan;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import com.google.android.material.bottomsheet.BottomSheetDialog;
+import com.google.android.material.button.MaterialButton;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bottom sheet with one chip per facet value. Each toggle is reported straight away so
+ * the feed updates live, and the per-value counts are refreshed from the facet index.
+ */
+public class JobFilterSheet {
+    public interface OnFiltersChangedListener {
+        void onFiltersChanged(Map<JobFacetIndex.Facet, Set<String>> selection);
+    }
+
+    private final Context context;
+    private final JobFacetIndex facetIndex;
+    private final OnFiltersChangedListener listener;
+    private final Map<JobFacetIndex.Facet, Set<String>> selection = new EnumMap<>(JobFacetIndex.Facet.class);
+    private final Map<JobFacetIndex.Facet, Map<String, Chip>> chips = new EnumMap<>(JobFacetIndex.Facet.class);
+    private MaterialButton applyButton;
+
+    public JobFilterSheet(Context context, JobFacetIndex facetIndex,
+                          Map<JobFacetIndex.Facet, Set<String>> currentSelection,
+                          OnFiltersChangedListener listener) {
+        this.context = context;
+        this.facetIndex = facetIndex;
+        this.listener = listener;
+        for (JobFacetIndex.Facet facet : JobFacetIndex.Facet.values()) {
+            Set<String> selected = currentSelection.get(facet);
+            selection.put(facet, selected != null ? new LinkedHashSet<>(selected) : new LinkedHashSet<>());
+        }
+    }
+
+    public void show() {
+        BottomSheetDialog dialog = new BottomSheetDialog(context);
+        View content = LayoutInflater.from(context).inflate(R.layout.bottom_sheet_job_filters, null);
+        LinearLayout container = content.findViewById(R.id.filterFacetContainer);
+
+        for (JobFacetIndex.Facet facet : JobFacetIndex.Facet.values()) {
+            TextView title = new TextView(context);
+            title.setText(getFacetTitle(facet));
+            title.setTextSize(14);
+            title.setTypeface(Typeface.DEFAULT_BOLD);
+            title.setPadding(0, 24, 0, 8);
+            container.addView(title);
+
+            ChipGroup group = new ChipGroup(context);
+            Map<String, Chip> facetChips = new HashMap<>();
+            for (String value : facetIndex.getValues(facet)) {
+                Chip chip = new Chip(context);
+                chip.setCheckable(true);
+                chip.setChecked(selection.get(facet).contains(value));
+                chip.setOnCheckedChangeListener((buttonView, isChecked) -> {
+                    if (isChecked) {
+                        selection.get(facet).add(value);
+                    } else {
+                        selection.get(facet).remove(value);
+                    }
+                    onSelectionChanged();
+                });
+                facetChips.put(value, chip);
+                group.addView(chip);
+            }
+            chips.put(facet, facetChips);
+            container.addView(group);
+        }
+
+        applyButton = content.findViewById(R.id.btnApplyFilters);
+        applyButton.setOnClickListener(v -> dialog.dismiss());
+        content.findViewById(R.id.btnClearFilters).setOnClickListener(v -> {
+            for (Map<String, Chip> facetChips : chips.values()) {
+                for (Chip chip : facetChips.values()) {
+                    chip.setChecked(false);
+                }
+            }
+        });
+
+        refreshCounts();
+        dialog.setContentView(content);
+        dialog.show();
+    }
+
+    private void onSelectionChanged() {
+        refreshCounts();
+        Map<JobFacetIndex.Facet, Set<String>> snapshot = new EnumMap<>(JobFacetIndex.Facet.class);
+        for (Map.Entry<JobFacetIndex.Facet, Set<String>> entry : selection.entrySet()) {
+            snapshot.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
+        }
+        listener.onFiltersChanged(snapshot);
+    }
+
+    private void refreshCounts() {
+        for (JobFacetIndex.Facet facet : JobFacetIndex.Facet.values()) {
+            Map<String, Integer> counts = facetIndex.counts(facet, selection);
+            for (Map.Entry<String, Chip> entry : chips.get(facet).entrySet()) {
+                Integer count = counts.get(entry.getKey());
+                Chip chip = entry.getValue();
+                chip.setText(entry.getKey() + " (" + (count != null ? count : 0) + ")");
+                // Values that would empty the list stay visible but cannot be picked
+                chip.setEnabled(chip.isChecked() || (count != null && count > 0));
+            }
+        }
+        applyButton.setText("Show " + facetIndex.filter(selection).cardinality() + " jobs");
+    }
+
+    private static String getFacetTitle(JobFacetIndex.Facet facet) {
+        switch (facet) {
+            case LOCATION:
+                return "Location";
+            case EMPLOYMENT_TYPE:
+                return "Employment type";
+            case EXPERIENCE_LEVEL:
+                return "Experience level";
+            case REMOTE:
+                return "Work arrangement";
+            case SALARY:
+                return "Salary";
+            case POSTED:
+                return "Date posted";
+            case STATUS:
+                return "Status";
+            default:
+                return facet.name();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.starplan;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+import org.json.JSONObject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One resume's overall score against several jobs, best match first. Rows start out pending
+ * in catalog order and move into rank as batch results arrive; DiffUtil animates the moves.
+ */
+public class JobMatchAdapter extends ListAdapter<JobMatchAdapter.JobMatch, JobMatchAdapter.ViewHolder> {
+    private static final DiffUtil.ItemCallback<JobMatch> DIFF_CALLBACK = new DiffUtil.ItemCallback<JobMatch>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull JobMatch oldItem, @NonNull JobMatch newItem) {
+            return oldItem.jobId == newItem.jobId;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull JobMatch oldItem, @NonNull JobMatch newItem) {
+            return oldItem.hasSameContents(newItem);
+        }
+    };
+
+    public interface OnJobMatchClickListener {
+        void onJobMatchClick(int jobId);
+    }
+
+    private final Context context;
+    private final OnJobMatchClickListener listener;
+    // Catalog order; ranking is applied when the list is submitted
+    private final Map<Integer, JobMatch> matches = new LinkedHashMap<>();
+
+    public JobMatchAdapter(Context context, OnJobMatchClickListener listener) {
+        super(DIFF_CALLBACK);
+        this.context = context;
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(context).inflate(R.layout.feedback_item, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        JobMatch item = getItem(position);
+        holder.tvName.setText(item.company == null || item.company.isEmpty()
+                ? item.title : item.title + " at " + item.company);
+        if (item.error != null) {
+            holder.tvScore.setText("Could not score");
+            holder.tvJustification.setText(item.error);
+        } else if (item.isScored()) {
+            holder.tvScore.setText(String.format(Locale.getDefault(), "Match: %d/%d", item.score, item.maxScore));
+            holder.tvJustification.setText(item.justification);
+        } else {
+            holder.tvScore.setText("Scoring...");
+            holder.tvJustification.setText("");
+        }
+        holder.itemView.setOnClickListener(v -> listener.onJobMatchClick(item.jobId));
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).jobId;
+    }
+
+    /**
+     * Replaces the rows with these jobs, all pending.
+     */
+    public void setJobs(List<Job> jobs) {
+        matches.clear();
+        for (Job job : jobs) {
+            matches.put(job.id, new JobMatch(job.id, job.jobTitle, job.company, -1, 100, null, null));
+        }
+        submitRanked();
+    }
+
+    /**
+     * Ranks a job by the overall score of its feedback response ({"feedback": {...}}).
+     */
+    public void setResult(int jobId, JSONObject response) {
+        JobMatch match = matches.get(jobId);
+        if (match == null) return;
+        JSONObject feedback = response.optJSONObject("feedback");
+        JSONObject overall = feedback != null ? feedback.optJSONObject("overall_score") : null;
+        if (overall == null || !overall.has("score")) {
+            setError(jobId, "No overall score in the feedback.");
+            return;
+        }
+        matches.put(jobId, new JobMatch(jobId, match.title, match.company, overall.optInt("score"),
+                overall.optInt("max_score", 100), overall.optString("justification"), null));
+        submitRanked();
+    }
+
+    public void setError(int jobId, String error) {
+        JobMatch match = matches.get(jobId);
+        if (match == null) return;
+        matches.put(jobId, new JobMatch(jobId, match.title, match.company, -1, match.maxScore, null, error));
+        submitRanked();
+    }
+
+    public int getScoredCount() {
+        int count = 0;
+        for (JobMatch match : matches.values()) {
+            if (match.isScored()) count++;
+        }
+        return count;
+    }
+
+    // Scored jobs best first, then pending, then failed; the sort is stable, so ties keep catalog order
+    private void submitRanked() {
+        List<JobMatch> ranked = new ArrayList<>(matches.values());
+        ranked.sort((a, b) -> {
+            int byState = Integer.compare(a.state(), b.state());
+            if (byState != 0) return byState;
+            return Double.compare(b.fraction(), a.fraction());
+        });
+        submitList(ranked);
+    }
+
+    public static final class JobMatch {
+        public final int jobId;
+        public final String title;
+        public final String company;
+        public final int score; // -1 until scored
+        public final int maxScore;
+        public final String justification;
+        public final String error;
+
+        JobMatch(int jobId, String title, String company, int score, int maxScore,
+                 String justification, String error) {
+            this.jobId = jobId;
+            this.title = title;
+            this.company = company;
+            this.score = score;
+            this.maxScore = maxScore;
+            this.justification = justification;
+            this.error = error;
+        }
+
+        boolean isScored() {
+            return error == null && score >= 0;
+        }
+
+        int state() {
+            return error != null ? 2 : isScored() ? 0 : 1;
+        }
+
+        double fraction() {
+            return isScored() && maxScore > 0 ? (double) score / maxScore : 0;
+        }
+
+        boolean hasSameContents(JobMatch other) {
+            return score == other.score
+                    && maxScore == other.maxScore
+                    && Objects.equals(title, other.title)
+                    && Objects.equals(company, other.company)
+                    && Objects.equals(justification, other.justification)
+                    && Objects.equals(error, other.error);
+        }
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        TextView tvName, tvScore, tvJustification;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            tvName = itemView.findViewById(R.id.tv_criteria_name);
+            tvScore = itemView.findViewById(R.id.tv_criteria_score);
+            tvJustification = itemView.findViewById(R.id.tv_criteria_justification);
+        }
+    }
+}
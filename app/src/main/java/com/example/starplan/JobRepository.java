@@ -0,0 +1,328 @@
+package com.example.starplan;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LifecycleOwner;
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide holder for the job catalog.
+ * Jobs are decoded once, incrementally, and kept as an ordered list plus an id index,
+ * so screens share the same Job objects and only decode as much as they actually need.
+ * The build-time {@link BinaryJobCatalog} is preferred; assets/job_listings.json is read
+ * through the streaming {@link JobCatalogParser} if the binary catalog is missing.
+ * Each job's {@link JobDisplayModel} is built off the main thread as the job is decoded.
+ * Async loads decode on {@link TaskRunner}'s CPU pool; the repository lock keeps them in
+ * step with each other, since they share one read position in the catalog.
+ */
+public class JobRepository {
+    private static final String TAG = "JobRepository";
+    private static final String CATALOG_ASSET = "job_listings.json";
+
+    private static volatile JobRepository instance;
+
+    private final Context appContext;
+    private final List<Job> jobs = new ArrayList<>();
+    private final Map<Integer, Job> jobsById = new HashMap<>();
+    private BinaryJobCatalog binaryCatalog;
+    private boolean sourceOpened;
+    private JobCatalogParser cursor;
+    private boolean fullyLoaded;
+    private volatile JobSearchIndex searchIndex;
+    private volatile JobFacetIndex facetIndex;
+    private volatile SkillMatchRanker skillRanker;
+
+    private JobRepository(Context context) {
+        this.appContext = context.getApplicationContext();
+    }
+
+    public interface PageCallback {
+        void onPageLoaded(List<Job> page, boolean endReached);
+        void onError(IOException e);
+    }
+
+    public interface JobCallback {
+        void onJobLoaded(@Nullable Job job);
+        void onError(IOException e);
+    }
+
+    public interface SearchIndexCallback {
+        void onIndexReady(JobSearchIndex index);
+        void onError(IOException e);
+    }
+
+    public interface FacetIndexCallback {
+        void onIndexReady(JobFacetIndex index);
+        void onError(IOException e);
+    }
+
+    public interface SkillRankerCallback {
+        void onRankerReady(SkillMatchRanker ranker);
+        void onError(IOException e);
+    }
+
+    private interface Delivery<T> {
+        void deliver(T result);
+    }
+
+    public static JobRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (JobRepository.class) {
+                if (instance == null) {
+                    instance = new JobRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * All jobs in catalog (file) order. Parses whatever has not been read yet.
+     */
+    public synchronized List<Job> getJobs() throws IOException {
+        loadUntil(Integer.MAX_VALUE);
+        return new ArrayList<>(jobs);
+    }
+
+    /**
+     * Up to {@code count} jobs starting at {@code offset}, parsing only as far as the page end.
+     */
+    public synchronized List<Job> getPage(int offset, int count) throws IOException {
+        loadUntil(offset + count);
+        int from = Math.min(offset, jobs.size());
+        int to = Math.min(offset + count, jobs.size());
+        return new ArrayList<>(jobs.subList(from, to));
+    }
+
+    /**
+     * Loads a page on a background thread and delivers it on the main thread.
+     * endReached is true once the catalog has no jobs past this page. Nothing is delivered
+     * once {@code owner} is destroyed. Must be called on the main thread.
+     */
+    public void loadPageAsync(LifecycleOwner owner, int offset, int count, PageCallback callback) {
+        TaskRunner.run(owner, TaskRunner.Pool.CPU, TaskRunner.Priority.HIGH, reporter -> {
+            List<Job> page = getPage(offset, count);
+            return new PageResult(page, isEndReached(offset + page.size()));
+        }, deliver(result -> callback.onPageLoaded(result.jobs, result.endReached), callback::onError));
+    }
+
+    /**
+     * Looks up a job on the background thread and delivers it on the main thread,
+     * falling back to the first job when the id is unknown. Nothing is delivered
+     * once {@code owner} is destroyed. Must be called on the main thread.
+     */
+    public void loadJobAsync(LifecycleOwner owner, int id, JobCallback callback) {
+        TaskRunner.run(owner, TaskRunner.Pool.CPU, TaskRunner.Priority.HIGH, reporter -> {
+            Job job = getJobById(id);
+            if (job == null) {
+                List<Job> first = getPage(0, 1);
+                job = first.isEmpty() ? null : first.get(0);
+            }
+            return job;
+        }, deliver(callback::onJobLoaded, callback::onError));
+    }
+
+    /**
+     * Precomputed display values for a job. Jobs handed out by the repository already have
+     * one; anything else gets it built on the calling thread.
+     */
+    public JobDisplayModel getDisplayModel(Job job) {
+        // Stored on the job itself, so a bind does no lookup and boxes no id
+        JobDisplayModel model = job.displayModel;
+        if (model == null) {
+            model = JobDisplayModel.build(job);
+            job.displayModel = model;
+        }
+        return model;
+    }
+
+    /**
+     * The search index if it has already been built, otherwise null.
+     */
+    @Nullable
+    public JobSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Loads the rest of the catalog and builds the search index on the background thread
+     * (once per process), then delivers it on the main thread. Must be called on the main thread.
+     */
+    public void loadSearchIndexAsync(LifecycleOwner owner, SearchIndexCallback callback) {
+        TaskRunner.run(owner, TaskRunner.Pool.CPU, TaskRunner.Priority.NORMAL, reporter -> {
+            if (searchIndex == null) {
+                searchIndex = new JobSearchIndex(getJobs());
+            }
+            return searchIndex;
+        }, deliver(callback::onIndexReady, callback::onError));
+    }
+
+    /**
+     * Loads the rest of the catalog and builds the facet index on the background thread
+     * (once per process), then delivers it on the main thread. Must be called on the main thread.
+     */
+    public void loadFacetIndexAsync(LifecycleOwner owner, FacetIndexCallback callback) {
+        TaskRunner.run(owner, TaskRunner.Pool.CPU, TaskRunner.Priority.NORMAL, reporter -> {
+            if (facetIndex == null) {
+                facetIndex = new JobFacetIndex(getJobs());
+            }
+            return facetIndex;
+        }, deliver(callback::onIndexReady, callback::onError));
+    }
+
+    /**
+     * Loads the rest of the catalog and builds the skill-match ranker on the background thread
+     * (once per process), then delivers it on the main thread. The ranker keeps the user's
+     * skills between screens and must only be used on the main thread.
+     */
+    public void loadSkillRankerAsync(LifecycleOwner owner, SkillRankerCallback callback) {
+        TaskRunner.run(owner, TaskRunner.Pool.CPU, TaskRunner.Priority.NORMAL, reporter -> {
+            if (skillRanker == null) {
+                skillRanker = new SkillMatchRanker(getJobs());
+            }
+            return skillRanker;
+        }, deliver(callback::onRankerReady, callback::onError));
+    }
+
+    // Adapts the repository's callbacks to TaskRunner; anything a load throws is reported
+    // as an IOException
+    private static <T> TaskRunner.Callback<T> deliver(Delivery<T> onResult, Delivery<IOException> onError) {
+        return new TaskRunner.Callback<T>() {
+            @Override
+            public void onResult(T result) {
+                onResult.deliver(result);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "Error loading job catalog", e);
+                onError.deliver(e instanceof IOException ? (IOException) e : new IOException(e));
+            }
+        };
+    }
+
+    private static final class PageResult {
+        final List<Job> jobs;
+        final boolean endReached;
+
+        PageResult(List<Job> jobs, boolean endReached) {
+            this.jobs = jobs;
+            this.endReached = endReached;
+        }
+    }
+
+    /**
+     * Looks up a job by its id, or returns null if the catalog has no such job.
+     * Only the requested record is decoded from the binary catalog; the JSON
+     * fallback stops parsing as soon as the job is found.
+     */
+    public synchronized Job getJobById(int id) throws IOException {
+        Job job = jobsById.get(id);
+        if (job != null || fullyLoaded) return job;
+
+        openSource();
+        if (binaryCatalog != null) {
+            int index = binaryCatalog.indexOfId(id);
+            if (index < 0) return null;
+            job = binaryCatalog.get(index);
+            remember(job); // reused when the feed reaches this position
+            return job;
+        }
+        while (job == null && !fullyLoaded) {
+            Job next = readNext();
+            if (next != null && next.id == id) job = next;
+        }
+        return job;
+    }
+
+    // True when no job exists at position `end`; peeks one record past the page if needed.
+    private synchronized boolean isEndReached(int end) throws IOException {
+        loadUntil(end + 1);
+        return jobs.size() <= end;
+    }
+
+    private void loadUntil(int count) throws IOException {
+        while (jobs.size() < count && !fullyLoaded) {
+            readNext();
+        }
+    }
+
+    private void openSource() throws IOException {
+        if (sourceOpened) return;
+        sourceOpened = true;
+        try {
+            binaryCatalog = BinaryJobCatalog.open(appContext);
+        } catch (ClosedByInterruptException e) {
+            // A cancelled load interrupted the mapping; the next load opens the catalog again
+            sourceOpened = false;
+            throw e;
+        } catch (IOException e) {
+            Log.w(TAG, "Binary job catalog unavailable, falling back to " + CATALOG_ASSET, e);
+        }
+    }
+
+    // Pulls the next job into the list and index; null once the catalog is exhausted.
+    private Job readNext() throws IOException {
+        openSource();
+        if (binaryCatalog != null) {
+            int index = jobs.size();
+            if (index >= binaryCatalog.size()) {
+                fullyLoaded = true;
+                Log.d(TAG, "Loaded " + jobs.size() + " jobs from " + BinaryJobCatalog.ASSET_NAME);
+                return null;
+            }
+            Job job = jobsById.get(binaryCatalog.idAt(index));
+            if (job == null) {
+                job = binaryCatalog.get(index);
+                remember(job);
+            }
+            jobs.add(job);
+            return job;
+        }
+
+        try {
+            if (cursor == null) {
+                // Fresh stream, or a retry after a failed read: resume after the jobs we have
+                cursor = new JobCatalogParser(appContext.getAssets().open(CATALOG_ASSET));
+                cursor.skip(jobs.size());
+            }
+            if (!cursor.hasNext()) {
+                closeCursor();
+                fullyLoaded = true;
+                Log.d(TAG, "Loaded " + jobs.size() + " jobs from " + CATALOG_ASSET);
+                return null;
+            }
+            Job job = cursor.next();
+            jobs.add(job);
+            remember(job);
+            return job;
+        } catch (IOException | RuntimeException e) {
+            // Drop the broken cursor but leave the catalog open-ended, so the next
+            // load retries from the current position instead of stopping here for good
+            closeCursor();
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+    }
+
+    private void remember(Job job) {
+        jobsById.put(job.id, job);
+        job.displayModel = JobDisplayModel.build(job);
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                Log.w(TAG, "Error closing catalog stream", e);
+            }
+            cursor = null;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.starplan;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable inverted index over the job catalog for the home screen search box.
+ *
+ * Title, company, skills, description, responsibilities and qualifications are
+ * tokenised (lower-cased, accents stripped, split on anything that is not a letter,
+ * digit, '+' or '#') and each term maps to the jobs containing it with a field-weighted
+ * score. Terms are kept sorted so every query token is matched as a prefix with two
+ * binary searches. A job must match all query tokens; results are ranked by score.
+ */
+public class JobSearchIndex {
+    private static final float WEIGHT_TITLE = 5f;
+    private static final float WEIGHT_COMPANY = 4f;
+    private static final float WEIGHT_SKILL = 3f;
+    private static final float WEIGHT_TEXT = 1f;
+    // Prefix-only matches count for less than whole-word matches
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private final List<Job> jobs;
+    private final String[] terms;
+    private final int[][] postingDocs;
+    private final float[][] postingWeights;
+
+    public JobSearchIndex(List<Job> jobs) {
+        this.jobs = new ArrayList<>(jobs);
+
+        Map<String, Map<Integer, Float>> postings = new HashMap<>();
+        for (int doc = 0; doc < this.jobs.size(); doc++) {
+            Job job = this.jobs.get(doc);
+            addField(postings, doc, job.jobTitle, WEIGHT_TITLE);
+            addField(postings, doc, job.company, WEIGHT_COMPANY);
+            for (int i = 0; i < job.getSkillCount(); i++) {
+                addField(postings, doc, job.getSkill(i), WEIGHT_SKILL);
+            }
+            addField(postings, doc, job.description, WEIGHT_TEXT);
+            addFields(postings, doc, job.responsibilities, WEIGHT_TEXT);
+            addFields(postings, doc, job.qualifications, WEIGHT_TEXT);
+        }
+
+        terms = postings.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        postingDocs = new int[terms.length][];
+        postingWeights = new float[terms.length][];
+        for (int t = 0; t < terms.length; t++) {
+            Map<Integer, Float> docs = postings.get(terms[t]);
+            int[] docIds = new int[docs.size()];
+            float[] weights = new float[docs.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Float> entry : docs.entrySet()) {
+                docIds[i] = entry.getKey();
+                weights[i] = entry.getValue();
+                i++;
+            }
+            postingDocs[t] = docIds;
+            postingWeights[t] = weights;
+        }
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    /**
+     * Jobs matching every token of {@code query} as a word prefix, best match first.
+     * An empty query matches nothing.
+     */
+    public List<Job> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) return new ArrayList<>();
+
+        int docCount = jobs.size();
+        float[] scores = new float[docCount];
+        int[] matchedTokens = new int[docCount];
+        boolean[] seen = new boolean[docCount];
+
+        for (String token : tokens) {
+            Arrays.fill(seen, false);
+            int from = lowerBound(token);
+            int to = lowerBound(token + Character.MAX_VALUE);
+            for (int t = from; t < to; t++) {
+                float factor = terms[t].length() == token.length() ? 1f : PREFIX_FACTOR;
+                int[] docs = postingDocs[t];
+                float[] weights = postingWeights[t];
+                for (int i = 0; i < docs.length; i++) {
+                    int doc = docs[i];
+                    scores[doc] += weights[i] * factor;
+                    if (!seen[doc]) {
+                        seen[doc] = true;
+                        matchedTokens[doc]++;
+                    }
+                }
+            }
+        }
+
+        int matches = 0;
+        Integer[] ranked = new Integer[docCount];
+        for (int doc = 0; doc < docCount; doc++) {
+            if (matchedTokens[doc] == tokens.size()) ranked[matches++] = doc;
+        }
+        Arrays.sort(ranked, 0, matches, (a, b) -> {
+            int byScore = Float.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+
+        List<Job> results = new ArrayList<>(matches);
+        for (int i = 0; i < matches; i++) {
+            results.add(jobs.get(ranked[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Splits text into normalised search tokens.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                current.append(c);
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) tokens.add(current.toString());
+        return tokens;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void addFields(Map<String, Map<Integer, Float>> postings, int doc,
+                                  List<String> values, float weight) {
+        if (values == null) return;
+        for (String value : values) {
+            addField(postings, doc, value, weight);
+        }
+    }
+
+    private static void addField(Map<String, Map<Integer, Float>> postings, int doc,
+                                 String value, float weight) {
+        for (String token : tokenize(value)) {
+            Map<Integer, Float> docs = postings.get(token);
+            if (docs == null) {
+                docs = new HashMap<>();
+                postings.put(token, docs);
+            }
+            Float previous = docs.get(doc);
+            docs.put(doc, previous == null ? weight : previous + weight);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.starplan;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.lifecycle.LiveData;
+
+/**
+ * App-wide clock that publishes the current time at the start of every minute.
+ *
+ * Screens observe this one ticker instead of formatting times per view or scheduling their
+ * own timers. It only ticks while at least one observer is started, and publishes a fresh
+ * value as soon as one becomes active again.
+ */
+public final class MinuteTicker extends LiveData<Long> {
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final MinuteTicker INSTANCE = new MinuteTicker();
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable tick = new Runnable() {
+        @Override
+        public void run() {
+            long now = System.currentTimeMillis();
+            setValue(now);
+            handler.postDelayed(this, MINUTE_MILLIS - now % MINUTE_MILLIS);
+        }
+    };
+
+    private MinuteTicker() {
+        super(System.currentTimeMillis());
+    }
+
+    public static MinuteTicker get() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected void onActive() {
+        handler.removeCallbacks(tick);
+        tick.run();
+    }
+
+    @Override
+    protected void onInactive() {
+        handler.removeCallbacks(tick);
+    }
+}
@@ -12,16 +12,35 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-import java.util.List;
+import java.util.Objects;
+
+public class ResumeAdapter extends ListAdapter<Resume, ResumeAdapter.ResumeViewHolder> {
+    // The library is rebuilt from scratch on refresh, so contents are compared field by field
+    private static final DiffUtil.ItemCallback<Resume> DIFF_CALLBACK = new DiffUtil.ItemCallback<Resume>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Resume oldItem, @NonNull Resume newItem) {
+            return Objects.equals(oldItem.id, newItem.id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Resume oldItem, @NonNull Resume newItem) {
+            return Objects.equals(oldItem.getDisplayName(), newItem.getDisplayName())
+                    && Objects.equals(oldItem.filename, newItem.filename)
+                    && Objects.equals(oldItem.createdDate, newItem.createdDate)
+                    && Objects.equals(oldItem.industry, newItem.industry);
+        }
+    };
 
-public class ResumeAdapter extends RecyclerView.Adapter<ResumeAdapter.ResumeViewHolder> {
-    private List<Resume> resumes;
     private Context context;
+    private final StableIds itemIds = new StableIds();
 
-    public ResumeAdapter(Context context, List<Resume> resumes) {
+    public ResumeAdapter(Context context) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.resumes = resumes;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -33,7 +52,7 @@ public class ResumeAdapter extends RecyclerView.Adapter<ResumeAdapter.ResumeView
 
     @Override
     public void onBindViewHolder(@NonNull ResumeViewHolder holder, int position) {
-        Resume resume = resumes.get(position);
+        Resume resume = getItem(position);
         
         holder.resumeName.setText(resume.getDisplayName());
         holder.resumeDate.setText(resume.createdDate);
@@ -60,10 +79,11 @@ public class ResumeAdapter extends RecyclerView.Adapter<ResumeAdapter.ResumeView
         // Menu button
         holder.btnMenu.setOnClickListener(v -> 
             Toast.makeText(context, "Resume Options - Coming Soon", Toast.LENGTH_SHORT).show());
+    }
 
     @Override
-    public int getItemCount() {
-        return resumes.size();
+    public long getItemId(int position) {
+        return itemIds.idFor(getItem(position).id);
     }
 
     public static class ResumeViewHolder extends RecyclerView.ViewHolder {
@@ -139,16 +139,23 @@ public class ResumeBuilderActivity extends AppCompatActivity {
         ChipGroup skillsChipGroup = findViewById(R.id.chipGroupSkills);
         ChipGroup suggestionsChipGroup = findViewById(R.id.chipGroupSuggestions);
 
+        // Restore the skills saved last time; they also drive job ranking on the home feed
+        List<String> savedSkills = UserSkillsStore.load(this);
+        for (String skill : savedSkills) {
+            addSkillChip(skill, skillsChipGroup);
+        }
+
         // Popular skills suggestions
         String[] popularSkills = {"JavaScript", "Python", "Java", "React", "Node.js", "SQL", "Leadership", "Communication", "Project Management", "Problem Solving", "Teamwork", "Data Analysis"};
         
         for (String skill : popularSkills) {
+            if (containsIgnoreCase(savedSkills, skill)) continue;
             Chip suggestionChip = new Chip(this);
             suggestionChip.setText(skill);
             suggestionChip.setClickable(true);
             suggestionChip.setCheckable(false);
             suggestionChip.setOnClickListener(v -> {
-                addSkillChip(skill, skillsChipGroup);
+                addSkill(skill, skillsChipGroup);
                 suggestionsChipGroup.removeView(suggestionChip);
             });
             suggestionsChipGroup.addView(suggestionChip);
@@ -161,7 +168,7 @@ public class ResumeBuilderActivity extends AppCompatActivity {
                     (event != null && event.getKeyCode() == KeyEvent.KEYCODE_ENTER)) {
                     String skillText = skillInput.getText().toString().trim();
                     if (!skillText.isEmpty()) {
-                        addSkillChip(skillText, skillsChipGroup);
+                        addSkill(skillText, skillsChipGroup);
                         skillInput.setText("");
                         return true;
                     }
@@ -171,14 +178,21 @@ public class ResumeBuilderActivity extends AppCompatActivity {
         }
     }
 
-    private void addSkillChip(String skillText, ChipGroup chipGroup) {
+    private void addSkill(String skillText, ChipGroup chipGroup) {
+        if (addSkillChip(skillText, chipGroup)) {
+            saveSkills(chipGroup);
+        }
+    }
+
+    // Adds the chip without saving, so restoring the stored skills does not write them back
+    private boolean addSkillChip(String skillText, ChipGroup chipGroup) {
         // Check if skill already exists
         for (int i = 0; i < chipGroup.getChildCount(); i++) {
             View child = chipGroup.getChildAt(i);
             if (child instanceof Chip) {
                 Chip existingChip = (Chip) child;
                 if (existingChip.getText().toString().equalsIgnoreCase(skillText)) {
-                    return; // Skill already exists
+                    return false; // Skill already exists
                 }
             }
         }
@@ -188,8 +202,34 @@ public class ResumeBuilderActivity extends AppCompatActivity {
         skillChip.setCloseIconVisible(true);
         skillChip.setClickable(true);
         skillChip.setCheckable(false);
-        skillChip.setOnCloseIconClickListener(v -> chipGroup.removeView(skillChip));
+        skillChip.setOnCloseIconClickListener(v -> {
+            chipGroup.removeView(skillChip);
+            saveSkills(chipGroup);
+        });
         chipGroup.addView(skillChip);
+        return true;
+    }
+
+    private void saveSkills(ChipGroup chipGroup) {
+        UserSkillsStore.save(this, getSkills(chipGroup));
+    }
+
+    private List<String> getSkills(ChipGroup chipGroup) {
+        List<String> skills = new ArrayList<>();
+        for (int i = 0; i < chipGroup.getChildCount(); i++) {
+            View child = chipGroup.getChildAt(i);
+            if (child instanceof Chip) {
+                skills.add(((Chip) child).getText().toString());
+            }
+        }
+        return skills;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        for (String existing : values) {
+            if (existing.equalsIgnoreCase(value)) return true;
+        }
+        return false;
     }
 
     private void setupLanguageInput() {
@@ -307,6 +347,8 @@ public class ResumeBuilderActivity extends AppCompatActivity {
                 progressDialog.dismiss();
                 showErrorDialog(error);
             }
+        }, percent -> {
+            if (percent >= 0) progressDialog.setMessage("Downloading your resume... " + percent + "%");
         });
     }
 
@@ -401,16 +443,8 @@ public class ResumeBuilderActivity extends AppCompatActivity {
         resumeData.add("education", education);
 
         // Skills
-        List<String> skillsList = new ArrayList<>();
         ChipGroup skillsChipGroup = findViewById(R.id.chipGroupSkills);
-        if (skillsChipGroup != null) {
-            for (int i = 0; i < skillsChipGroup.getChildCount(); i++) {
-                View child = skillsChipGroup.getChildAt(i);
-                if (child instanceof Chip) {
-                    skillsList.add(((Chip) child).getText().toString());
-                }
-            }
-        }
+        List<String> skillsList = skillsChipGroup != null ? getSkills(skillsChipGroup) : new ArrayList<>();
         resumeData.addProperty("skills", String.join(", ", skillsList));
 
         // Languages
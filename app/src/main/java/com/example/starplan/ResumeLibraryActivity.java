@@ -40,6 +40,8 @@ public class ResumeLibraryActivity extends AppCompatActivity {
     private void initViews() {
         recyclerResumes = findViewById(R.id.recyclerResumes);
         recyclerResumes.setLayoutManager(new LinearLayoutManager(this));
+        resumeAdapter = new ResumeAdapter(this);
+        recyclerResumes.setAdapter(resumeAdapter);
     }
 
     private void loadMockResumeData() {
@@ -79,9 +81,8 @@ public class ResumeLibraryActivity extends AppCompatActivity {
             ""
         ));
 
-        // Setup adapter
-        resumeAdapter = new ResumeAdapter(this, resumeList);
-        recyclerResumes.setAdapter(resumeAdapter);
+        // Only the resumes that changed are rebound; the scroll position is kept
+        resumeAdapter.submitList(resumeList);
     }
 
     private void loadGeneratedResumes() {
@@ -177,7 +178,7 @@ public class ResumeLibraryActivity extends AppCompatActivity {
 
         // Upload file
         ApiService apiService = new ApiService(this);
-        apiService.uploadPdf(fileUri, new ApiService.ApiCallback() {
+        apiService.uploadPdfChunked(fileUri, new ApiService.ApiCallback() {
             @Override
             public void onSuccess(String message) {
                 progressDialog.dismiss();
@@ -191,7 +192,7 @@ public class ResumeLibraryActivity extends AppCompatActivity {
                 progressDialog.dismiss();
                 showUploadErrorDialog(error);
             }
-        });
+        }, percent -> progressDialog.setMessage("Uploading resume... " + percent + "%"));
     }
 
     private void showUploadSuccessDialog(String message) {
@@ -2,7 +2,6 @@ package com.example.starplan;
 
 import android.content.Intent;
 import android.net.Uri;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -22,19 +21,19 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 
 public class ResumeUploadActivity extends AppCompatActivity implements ResumeAdapter.OnItemClickListener {
 
     private static final String TAG = "ResumeUploadActivity";
-    private static final String SERVER_URL = "http://10.0.2.2:5000"; // For Android emulator
+    private static final String SERVER_URL = HttpClient.BASE_URL;
     
     private int selectedJobId = -1; // Member variable to store the job ID
 
@@ -143,10 +142,6 @@ public class ResumeUploadActivity extends AppCompatActivity implements ResumeAda
         updateNextButtonState();
     }
 
-    private void fetchResumes() {
-        new FetchResumesTask().execute(SERVER_URL + "/list_resumes");
-    }
-
     private void updateNextButtonState() {
         boolean isFileSelected = resumeAdapter.getSelectedFile() != null;
         btnNext.setEnabled(isFileSelected);
@@ -177,98 +172,130 @@ public class ResumeUploadActivity extends AppCompatActivity implements ResumeAda
         return true;
     }
 
-    private class FetchResumesTask extends AsyncTask<String, Void, List<String>> {
-        @Override
-        protected void onPreExecute() {
-            super.onPreExecute();
-            // if (progressBarLoadingList != null) progressBarLoadingList.setVisibility(View.VISIBLE);
-        }
+    /**
+     * Stale-while-revalidate: whatever list the HTTP cache holds is published first so the
+     * screen renders instantly, then the server is asked with the cached ETag. A 304 means
+     * the cached list was current and the adapter is left alone.
+     */
+    private void fetchResumes() {
+        String url = SERVER_URL + "/list_resumes";
+        boolean[] showedCachedList = {false};
+        TaskRunner.run(this, TaskRunner.Pool.IO, TaskRunner.Priority.NORMAL,
+                reporter -> loadResumeList(url, reporter), new TaskRunner.Callback<ResumeListing>() {
+                    @Override
+                    public void onUpdate(ResumeListing cached) {
+                        Log.d(TAG, "onUpdate - Showing " + cached.files.size() + " cached resumes while revalidating.");
+                        showedCachedList[0] = true;
+                        resumeAdapter.updateData(cached.files);
+                        updateNextButtonState();
+                    }
 
-        @Override
-        protected List<String> doInBackground(String... urls) {
-            if (urls.length == 0) return null;
-            String urlString = urls[0];
-            HttpURLConnection urlConnection = null;
-            BufferedReader reader = null;
-            String jsonStr = null;
-            List<String> files = new ArrayList<>(); // This is a new list for each background task
-
-            try {
-                URL url = new URL(urlString);
-                urlConnection = (HttpURLConnection) url.openConnection();
-                urlConnection.setRequestMethod("GET");
-                urlConnection.setConnectTimeout(5000);
-                urlConnection.setReadTimeout(5000);
-                urlConnection.connect();
-
-                InputStream inputStream = urlConnection.getInputStream();
-                StringBuilder buffer = new StringBuilder();
-                if (inputStream == null) {
-                    return null;
-                }
-                reader = new BufferedReader(new InputStreamReader(inputStream));
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    buffer.append(line).append("\n");
-                }
-
-                if (buffer.length() == 0) {
-                    return null;
-                }
-                jsonStr = buffer.toString();
-                Log.d(TAG, "doInBackground - Received JSON string: " + jsonStr);
-                JSONObject jsonResponse = new JSONObject(jsonStr);
-                JSONArray jsonArray = jsonResponse.getJSONArray("available_resumes");
-                // This log was previously before the loop, now correctly after:
-                for (int i = 0; i < jsonArray.length(); i++) {
-                    files.add(jsonArray.getString(i));
-                }
-                Log.d(TAG, "doInBackground - Parsed " + files.size() + " files successfully.");
-                return files; // Return the new list populated from JSON
-
-            } catch (IOException e) {
-                Log.e(TAG, "Error fetching resumes", e);
-                return null;
-            } catch (JSONException e) {
-                Log.e(TAG, "Error parsing JSON: " + e.getMessage() + " | JSON String: " + jsonStr, e);
-                return null;
-            } finally {
-                if (urlConnection != null) {
-                    urlConnection.disconnect();
-                }
-                if (reader != null) {
-                    try {
-                        reader.close();
-                    } catch (final IOException e) {
-                        Log.e(TAG, "Error closing stream", e);
+                    @Override
+                    public void onResult(ResumeListing listing) {
+                        showResumeList(listing, showedCachedList[0]);
                     }
-                }
+                });
+    }
+
+    // Worker thread. Returns null if the list could not be fetched.
+    private ResumeListing loadResumeList(String url, TaskRunner.Reporter<ResumeListing> reporter) {
+        // Shorter timeouts for this listing; newBuilder() keeps the shared pool and cache
+        OkHttpClient client = HttpClient.get(this).newBuilder()
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .readTimeout(5, TimeUnit.SECONDS)
+                .build();
+
+        Request cachedRequest = new Request.Builder()
+                .url(url)
+                .cacheControl(CacheControl.FORCE_CACHE)
+                .build();
+        try (Response cached = client.newCall(cachedRequest).execute()) {
+            // FORCE_CACHE answers 504 without touching the network when nothing is cached
+            if (cached.isSuccessful() && cached.body() != null) {
+                List<String> files = parseResumeList(cached.body().string());
+                if (files != null) reporter.publish(new ResumeListing(files, false));
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read cached resume list", e);
+        }
+        if (reporter.isCancelled()) return null;
+
+        Request request = new Request.Builder()
+                .url(url)
+                .get()
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.e(TAG, "Server error: " + response.code() + " " + response.message());
+                return null;
             }
+            Response network = response.networkResponse();
+            boolean unchanged = network != null && network.code() == 304;
+            if (unchanged) {
+                Log.d(TAG, "loadResumeList - Resume list not modified (304).");
+            }
+            List<String> files = parseResumeList(response.body().string());
+            return files != null ? new ResumeListing(files, unchanged) : null;
+        } catch (IOException e) {
+            Log.e(TAG, "Error fetching resumes", e);
+            return null;
         }
+    }
 
-        @Override
-        protected void onPostExecute(List<String> result) { // 'result' is the new list from doInBackground
-            // if (progressBarLoadingList != null) progressBarLoadingList.setVisibility(View.GONE);
-            Log.d(TAG, "onPostExecute - Received result list size: " + (result != null ? result.size() : "null"));
-
-            if (result != null && !result.isEmpty()) {
-                Log.d(TAG, "onPostExecute - Updating adapter with new data.");
-                resumeAdapter.updateData(result); // Pass the 'result' list directly to the adapter
-
-                // Optionally, if the Activity needs its own copy of the latest list for other purposes:
-                // this.resumeFileList.clear();
-                // this.resumeFileList.addAll(result);
-
-            } else if (result != null && result.isEmpty()) {
-                Log.d(TAG, "onPostExecute - Received an empty list of resumes.");
-                Toast.makeText(ResumeUploadActivity.this, "No resumes found on server.", Toast.LENGTH_LONG).show();
-                resumeAdapter.updateData(new ArrayList<>()); // Clear adapter by passing a new empty list
-            } else { // result is null (error during doInBackground or empty list from server)
-                Log.e(TAG, "onPostExecute - Result is null or problem occurred. Failed to load resumes.");
-                Toast.makeText(ResumeUploadActivity.this, "Failed to load resumes. Check Logcat for errors.", Toast.LENGTH_LONG).show();
-                resumeAdapter.updateData(new ArrayList<>()); // Clear adapter by passing a new empty list
+    // Returns null if the body is not a resume listing
+    private List<String> parseResumeList(String jsonStr) {
+        if (jsonStr.isEmpty()) {
+            return null;
+        }
+        List<String> files = new ArrayList<>(); // This is a new list for each response
+        try {
+            JSONObject jsonResponse = new JSONObject(jsonStr);
+            JSONArray jsonArray = jsonResponse.getJSONArray("available_resumes");
+            for (int i = 0; i < jsonArray.length(); i++) {
+                files.add(jsonArray.getString(i));
             }
-            updateNextButtonState();
+            Log.d(TAG, "parseResumeList - Parsed " + files.size() + " files successfully.");
+            return files;
+        } catch (JSONException e) {
+            Log.e(TAG, "Error parsing JSON: " + e.getMessage() + " | JSON String: " + jsonStr, e);
+            return null;
+        }
+    }
+
+    private void showResumeList(ResumeListing listing, boolean showedCachedList) {
+        List<String> result = listing != null ? listing.files : null;
+        Log.d(TAG, "showResumeList - Received result list size: " + (result != null ? result.size() : "null"));
+
+        if (showedCachedList && (result == null || listing.unchanged)) {
+            // The cached list is current, or is the best we have while offline
+            Log.d(TAG, "showResumeList - Keeping the cached list.");
+        } else if (result != null && !result.isEmpty()) {
+            Log.d(TAG, "showResumeList - Updating adapter with new data.");
+            resumeAdapter.updateData(result); // Pass the 'result' list directly to the adapter
+
+            // Optionally, if the Activity needs its own copy of the latest list for other purposes:
+            // this.resumeFileList.clear();
+            // this.resumeFileList.addAll(result);
+
+        } else if (result != null && result.isEmpty()) {
+            Log.d(TAG, "showResumeList - Received an empty list of resumes.");
+            Toast.makeText(ResumeUploadActivity.this, "No resumes found on server.", Toast.LENGTH_LONG).show();
+            resumeAdapter.updateData(new ArrayList<>()); // Clear adapter by passing a new empty list
+        } else { // result is null (error while loading or unparseable response)
+            Log.e(TAG, "showResumeList - Result is null or problem occurred. Failed to load resumes.");
+            Toast.makeText(ResumeUploadActivity.this, "Failed to load resumes. Check Logcat for errors.", Toast.LENGTH_LONG).show();
+            resumeAdapter.updateData(new ArrayList<>()); // Clear adapter by passing a new empty list
+        }
+        updateNextButtonState();
+    }
+
+    private static final class ResumeListing {
+        final List<String> files;
+        final boolean unchanged; // The server answered 304, so files is the cached list
+
+        ResumeListing(List<String> files, boolean unchanged) {
+            this.files = files;
+            this.unchanged = unchanged;
         }
     }
 }
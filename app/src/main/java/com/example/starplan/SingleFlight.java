@@ -0,0 +1,163 @@
+package com.example.starplan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import okhttp3.Call;
+
+/**
+ * Coalesces identical in-flight requests.
+ *
+ * Callers {@link #join} with a fingerprint of the request. The first caller starts the
+ * network call; anyone joining with the same key while it is running becomes another
+ * subscriber of that call instead of starting a new one, and every subscriber gets the
+ * result. Requests that produce partial results can publish them as they go; a late
+ * subscriber is caught up with the latest one when it joins. A subscriber that goes away
+ * cancels its {@link Subscription}; the call itself is only cancelled once no subscribers
+ * are left. Finished flights are forgotten, so a later identical request goes to the
+ * network again.
+ */
+public final class SingleFlight<T> {
+
+    public interface Subscriber<T> {
+        void onSuccess(T value);
+        void onError(String error);
+        default void onProgress(int percent) {}
+        default void onPartial(T value) {}
+    }
+
+    /**
+     * Starts the real request and reports its outcome through the flight.
+     */
+    public interface Starter<T> {
+        Call start(SingleFlight<T>.Flight flight);
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final Map<String, Flight> flights = new HashMap<>();
+
+    public Subscription join(String key, Starter<T> starter, Subscriber<T> subscriber) {
+        Flight flight;
+        boolean created = false;
+        T latestPartial;
+        synchronized (this) {
+            flight = flights.get(key);
+            if (flight == null) {
+                flight = new Flight(key);
+                flights.put(key, flight);
+                created = true;
+            }
+            flight.subscribers.add(subscriber);
+            latestPartial = flight.latestPartial;
+        }
+        if (latestPartial != null) subscriber.onPartial(latestPartial);
+        if (created) {
+            Call call = starter.start(flight);
+            boolean abandoned;
+            synchronized (this) {
+                // A follow-up call may already have been attached
+                if (flight.call == null) flight.call = call;
+                abandoned = flight.abandoned;
+            }
+            // Everyone may already have left while the call was being created
+            if (abandoned) call.cancel();
+        }
+        Flight joined = flight;
+        return () -> leave(joined, subscriber);
+    }
+
+    private void leave(Flight flight, Subscriber<T> subscriber) {
+        Call toCancel = null;
+        synchronized (this) {
+            if (!flight.subscribers.remove(subscriber)) return;
+            if (flight.subscribers.isEmpty() && flights.get(flight.key) == flight) {
+                flights.remove(flight.key);
+                flight.abandoned = true;
+                toCancel = flight.call;
+            }
+        }
+        if (toCancel != null) toCancel.cancel();
+    }
+
+    /**
+     * One shared request. Results fan out on the thread that reports them.
+     */
+    public final class Flight {
+        private final String key;
+        private final List<Subscriber<T>> subscribers = new ArrayList<>();
+        private Call call;
+        private boolean abandoned;
+        private T latestPartial;
+
+        private Flight(String key) {
+            this.key = key;
+        }
+
+        public void succeed(T value) {
+            for (Subscriber<T> subscriber : finish()) {
+                subscriber.onSuccess(value);
+            }
+        }
+
+        public void fail(String error) {
+            for (Subscriber<T> subscriber : finish()) {
+                subscriber.onError(error);
+            }
+        }
+
+        public void progress(int percent) {
+            List<Subscriber<T>> current;
+            synchronized (SingleFlight.this) {
+                current = new ArrayList<>(subscribers);
+            }
+            for (Subscriber<T> subscriber : current) {
+                subscriber.onProgress(percent);
+            }
+        }
+
+        /**
+         * Hands over a follow-up call (for example a retry with more data) so that cancelling
+         * the flight cancels it instead of the finished first call. Returns false, having
+         * cancelled it, if every subscriber has already left.
+         */
+        public boolean attach(Call next) {
+            synchronized (SingleFlight.this) {
+                if (!abandoned) {
+                    call = next;
+                    return true;
+                }
+            }
+            next.cancel();
+            return false;
+        }
+
+        /**
+         * Publishes a partial result. Each value should be a complete snapshot so far, since
+         * subscribers joining later only receive the most recent one.
+         */
+        public void partial(T value) {
+            List<Subscriber<T>> current;
+            synchronized (SingleFlight.this) {
+                latestPartial = value;
+                current = new ArrayList<>(subscribers);
+            }
+            for (Subscriber<T> subscriber : current) {
+                subscriber.onPartial(value);
+            }
+        }
+
+        // Removes the flight so new callers start afresh; returns who is still listening
+        private List<Subscriber<T>> finish() {
+            synchronized (SingleFlight.this) {
+                if (flights.get(key) == this) flights.remove(key);
+                List<Subscriber<T>> current = new ArrayList<>(subscribers);
+                subscribers.clear();
+                return current;
+            }
+        }
+    }
+}
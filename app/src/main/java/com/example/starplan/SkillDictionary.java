@@ -0,0 +1,69 @@
+package com.example.starplan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide table of skill names, interned to small integer ids as the catalog loads.
+ *
+ * Jobs store skill ids instead of their own copies of "Python", "SQL" and so on, and the
+ * names are only resolved when a skill is displayed. Names are matched case-insensitively;
+ * the first spelling seen is the one displayed. Ids are dense, start at 0 and never change.
+ */
+public final class SkillDictionary {
+    private static final SkillDictionary SHARED = new SkillDictionary();
+
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    SkillDictionary() {}
+
+    public static SkillDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * Id for {@code name}, assigning the next free id the first time the name is seen.
+     */
+    public synchronized int intern(String name) {
+        String key = key(name);
+        Integer id = idsByKey.get(key);
+        if (id == null) {
+            id = names.size();
+            idsByKey.put(key, id);
+            names.add(name.trim());
+        }
+        return id;
+    }
+
+    /**
+     * Id of an already interned name, or -1. Does not add the name.
+     */
+    public synchronized int find(String name) {
+        Integer id = idsByKey.get(key(name));
+        return id != null ? id : -1;
+    }
+
+    public synchronized String name(int id) {
+        return names.get(id);
+    }
+
+    public synchronized int size() {
+        return names.size();
+    }
+
+    int[] internAll(List<String> names) {
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = intern(names.get(i));
+        }
+        return ids;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.starplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scores catalog jobs against the user's resume skills.
+ *
+ * Skills are compared by their {@link SkillDictionary} ids. Each job's score is a TF-IDF weighted overlap:
+ * every skill the job lists contributes idf(skill) / norm(job), and a skill that only
+ * appears in the job's qualifications text contributes half of that. Contributions are
+ * stored per skill as postings, so adding or removing one user skill only touches the
+ * jobs that mention it instead of re-scoring the whole catalog.
+ *
+ * Not thread-safe: build it in the background, then use it from the main thread.
+ */
+public class SkillMatchRanker {
+    private static final float QUALIFICATION_WEIGHT = 0.5f;
+
+    private final List<Job> jobs;
+    private final Map<Integer, Integer> positionById = new HashMap<>();
+    private final SkillDictionary dictionary = SkillDictionary.shared();
+    // skill id -> positions of jobs mentioning it, and that skill's contribution to each
+    private final List<int[]> postingJobs = new ArrayList<>();
+    private final List<float[]> postingScores = new ArrayList<>();
+    // Accumulated in double so repeated add/remove cycles do not drift; the number of
+    // matched skills per job lets a job with none left drop back to exactly 0
+    private final double[] scores;
+    private final int[] matchedSkills;
+    private final Set<Integer> userSkills = new HashSet<>();
+
+    public SkillMatchRanker(List<Job> jobs) {
+        this.jobs = new ArrayList<>(jobs);
+        int count = this.jobs.size();
+        scores = new double[count];
+        matchedSkills = new int[count];
+
+        // Each job's distinct skill ids, and the catalog's skill vocabulary
+        List<int[]> listed = new ArrayList<>(count);
+        Map<Integer, String> vocabulary = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Job job = this.jobs.get(i);
+            positionById.put(job.id, i);
+            Set<Integer> ids = new HashSet<>();
+            for (int s = 0; s < job.getSkillCount(); s++) {
+                int id = job.skillIds[s];
+                ids.add(id);
+                if (!vocabulary.containsKey(id)) {
+                    vocabulary.put(id, dictionary.name(id).toLowerCase(Locale.ROOT));
+                }
+            }
+            listed.add(toArray(ids));
+        }
+
+        // Catalog skills that also show up in qualification sentences
+        List<int[]> mentioned = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Set<Integer> ids = new HashSet<>();
+            String text = qualificationText(this.jobs.get(i));
+            if (!text.isEmpty()) {
+                for (Map.Entry<Integer, String> skill : vocabulary.entrySet()) {
+                    if (containsWord(text, skill.getValue())) ids.add(skill.getKey());
+                }
+            }
+            for (int id : listed.get(i)) {
+                ids.remove(id);
+            }
+            mentioned.add(toArray(ids));
+        }
+
+        // Document frequency -> idf per skill
+        int skillCount = dictionary.size();
+        int[] documentFrequency = new int[skillCount];
+        for (int i = 0; i < count; i++) {
+            for (int id : listed.get(i)) documentFrequency[id]++;
+            for (int id : mentioned.get(i)) documentFrequency[id]++;
+        }
+        float[] idf = new float[skillCount];
+        for (int id = 0; id < skillCount; id++) {
+            idf[id] = (float) Math.log(1.0 + (double) count / Math.max(1, documentFrequency[id]));
+        }
+
+        // Build postings with contributions normalised by the job's total weight
+        List<List<Integer>> jobsBySkill = new ArrayList<>(skillCount);
+        List<List<Float>> scoresBySkill = new ArrayList<>(skillCount);
+        for (int id = 0; id < skillCount; id++) {
+            jobsBySkill.add(new ArrayList<>());
+            scoresBySkill.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            float norm = 0f;
+            for (int id : listed.get(i)) norm += idf[id];
+            for (int id : mentioned.get(i)) norm += QUALIFICATION_WEIGHT * idf[id];
+            if (norm == 0f) continue;
+            for (int id : listed.get(i)) {
+                jobsBySkill.get(id).add(i);
+                scoresBySkill.get(id).add(idf[id] / norm);
+            }
+            for (int id : mentioned.get(i)) {
+                jobsBySkill.get(id).add(i);
+                scoresBySkill.get(id).add(QUALIFICATION_WEIGHT * idf[id] / norm);
+            }
+        }
+        for (int id = 0; id < skillCount; id++) {
+            List<Integer> positions = jobsBySkill.get(id);
+            List<Float> contributions = scoresBySkill.get(id);
+            int[] postingPositions = new int[positions.size()];
+            float[] postingContributions = new float[positions.size()];
+            for (int p = 0; p < positions.size(); p++) {
+                postingPositions[p] = positions.get(p);
+                postingContributions[p] = contributions.get(p);
+            }
+            postingJobs.add(postingPositions);
+            postingScores.add(postingContributions);
+        }
+    }
+
+    /**
+     * Replaces the user's skills. Only skills that were added or removed since the last
+     * call are applied. Returns true if any job's score changed.
+     */
+    public boolean setUserSkills(Collection<String> skills) {
+        Set<Integer> wanted = new HashSet<>();
+        for (String skill : skills) {
+            int id = catalogSkillId(skill);
+            // Skills no job mentions cannot change any score
+            if (id >= 0) wanted.add(id);
+        }
+
+        boolean changed = false;
+        for (Integer id : new ArrayList<>(userSkills)) {
+            if (!wanted.contains(id)) changed |= apply(id, -1);
+        }
+        for (Integer id : wanted) {
+            if (!userSkills.contains(id)) changed |= apply(id, 1);
+        }
+        return changed;
+    }
+
+    public boolean addUserSkill(String skill) {
+        int id = catalogSkillId(skill);
+        return id >= 0 && !userSkills.contains(id) && apply(id, 1);
+    }
+
+    public boolean removeUserSkill(String skill) {
+        int id = catalogSkillId(skill);
+        return id >= 0 && userSkills.contains(id) && apply(id, -1);
+    }
+
+    public boolean hasUserSkills() {
+        return !userSkills.isEmpty();
+    }
+
+    /**
+     * Match score in [0, 1] for a catalog job; 0 for unknown jobs.
+     */
+    public float getScore(Job job) {
+        Integer position = positionById.get(job.id);
+        return position != null ? (float) scores[position] : 0f;
+    }
+
+    /**
+     * The whole catalog, best match first.
+     */
+    public List<Job> rankCatalog() {
+        return jobsAt(rank(), 0, jobs.size());
+    }
+
+    /**
+     * Catalog positions, best match first, ties in catalog order. Only the order is
+     * computed; {@link #jobsAt} turns a slice of it into jobs, so results can be shown a
+     * page at a time.
+     */
+    public int[] rank() {
+        // Non-negative floats sort like their bits; inverting the bits puts the best match
+        // first and the low half of the key breaks ties by position
+        long[] keys = new long[jobs.size()];
+        for (int i = 0; i < keys.length; i++) {
+            long bits = Float.floatToIntBits(Math.max(0f, (float) scores[i]));
+            keys[i] = ((Integer.MAX_VALUE - bits) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] ranking = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranking[i] = (int) keys[i];
+        }
+        return ranking;
+    }
+
+    /**
+     * The jobs at {@code ranking[from]} up to, not including, {@code ranking[to]}.
+     */
+    public List<Job> jobsAt(int[] ranking, int from, int to) {
+        List<Job> page = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            page.add(jobs.get(ranking[i]));
+        }
+        return page;
+    }
+
+    /**
+     * A copy of {@code candidates} ordered by match score; ties keep their original order.
+     */
+    public List<Job> sortByMatch(List<Job> candidates) {
+        List<Job> sorted = new ArrayList<>(candidates);
+        Collections.sort(sorted, (a, b) -> Float.compare(getScore(b), getScore(a)));
+        return sorted;
+    }
+
+    private boolean apply(int skillId, int sign) {
+        if (sign > 0) {
+            userSkills.add(skillId);
+        } else {
+            userSkills.remove(skillId);
+        }
+        int[] positions = postingJobs.get(skillId);
+        float[] contributions = postingScores.get(skillId);
+        for (int p = 0; p < positions.length; p++) {
+            int position = positions[p];
+            if (sign > 0) {
+                matchedSkills[position]++;
+                scores[position] += contributions[p];
+            } else if (--matchedSkills[position] == 0) {
+                scores[position] = 0;
+            } else {
+                scores[position] -= contributions[p];
+            }
+        }
+        return positions.length > 0;
+    }
+
+    // Dictionary id of a skill known when the ranker was built, otherwise -1
+    private int catalogSkillId(String skill) {
+        int id = dictionary.find(skill);
+        return id < postingJobs.size() ? id : -1;
+    }
+
+    private static String qualificationText(Job job) {
+        if (job.qualifications == null || job.qualifications.isEmpty()) return "";
+        StringBuilder text = new StringBuilder();
+        for (String qualification : job.qualifications) {
+            text.append(' ').append(qualification.toLowerCase(Locale.ROOT));
+        }
+        return text.append(' ').toString();
+    }
+
+    // Whole-word match so "java" does not match inside "javascript"
+    private static boolean containsWord(String text, String word) {
+        int from = 0;
+        while (true) {
+            int index = text.indexOf(word, from);
+            if (index < 0) return false;
+            int end = index + word.length();
+            boolean startsWord = index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1));
+            boolean endsWord = end >= text.length() || !Character.isLetterOrDigit(text.charAt(end));
+            if (startsWord && endsWord) return true;
+            from = index + 1;
+        }
+    }
+
+    private static int[] toArray(Set<Integer> ids) {
+        int[] array = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) array[i++] = id;
+        Arrays.sort(array);
+        return array;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.starplan;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out RecyclerView stable ids for string keys. Each key keeps the id it was first
+ * given, and no two keys share one, unlike String.hashCode(). Main thread only.
+ */
+final class StableIds {
+    private final Map<String, Long> ids = new HashMap<>();
+
+    long idFor(String key) {
+        Long id = ids.get(key);
+        if (id == null) {
+            id = (long) ids.size();
+            ids.put(key, id);
+        }
+        return id;
+    }
+}
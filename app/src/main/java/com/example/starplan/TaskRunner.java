@@ -0,0 +1,213 @@
+package com.example.starplan;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide background execution, replacing AsyncTask.
+ *
+ * Work goes to one of two bounded pools: {@link Pool#IO} for network and disk, which mostly
+ * waits, and {@link Pool#CPU} for parsing and hashing, sized to the cores. Queued work runs in
+ * {@link Priority} order, so a screen the user is looking at is not stuck behind a background
+ * upload. Tasks started with {@link #run} are tied to a lifecycle: results and updates arrive
+ * on the main thread, and once the owner is destroyed the task is interrupted and nothing is
+ * delivered, so a rotated activity is not kept alive or called back.
+ */
+public final class TaskRunner {
+    private static final String TAG = "TaskRunner";
+    private static final int IO_THREADS = 4;
+    private static final int CPU_THREADS =
+            Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4));
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    public enum Pool { IO, CPU }
+
+    // Declared in the order queued work is taken
+    public enum Priority { HIGH, NORMAL, LOW }
+
+    public interface Task<T> {
+        T run(Reporter<T> reporter) throws Exception;
+    }
+
+    /**
+     * Lets a running task publish intermediate results and notice that it was cancelled.
+     */
+    public interface Reporter<T> {
+        void publish(T update);
+        boolean isCancelled();
+    }
+
+    /**
+     * Called on the main thread, and never after the owner is destroyed.
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+        default void onUpdate(T update) {}
+        default void onError(Exception e) {
+            Log.e(TAG, "Background task failed", e);
+        }
+    }
+
+    public interface Handle {
+        void cancel();
+    }
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ThreadPoolExecutor IO = newPool("io", IO_THREADS);
+    private static final ThreadPoolExecutor CPU = newPool("cpu", CPU_THREADS);
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private TaskRunner() {}
+
+    /**
+     * Runs {@code task} on {@code pool} and delivers its outcome to {@code callback} on the
+     * main thread, unless the handle is cancelled or the owner destroyed first. Must be called
+     * on the main thread.
+     */
+    public static <T> Handle run(LifecycleOwner owner, Pool pool, Priority priority,
+                                 Task<T> task, Callback<T> callback) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        BoundTask<T> bound = new BoundTask<>(lifecycle, callback);
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            bound.cancelled = true;
+            return bound;
+        }
+        lifecycle.addObserver(bound);
+        bound.future = submit(pool, priority, () -> bound.execute(task));
+        return bound;
+    }
+
+    /**
+     * Runs work that is not tied to a screen, such as an upload that reports through its own
+     * callbacks. Exceptions are logged.
+     */
+    public static Handle execute(Pool pool, Priority priority, Runnable work) {
+        Future<?> future = submit(pool, priority, () -> {
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Background work failed", e);
+            }
+        });
+        return () -> future.cancel(true);
+    }
+
+    /**
+     * Posts to the main thread. Everything posted runs in order.
+     */
+    public static void postToMain(Runnable runnable) {
+        MAIN.post(runnable);
+    }
+
+    private static Future<?> submit(Pool pool, Priority priority, Runnable work) {
+        PrioritizedTask task = new PrioritizedTask(work, priority);
+        (pool == Pool.CPU ? CPU : IO).execute(task);
+        return task;
+    }
+
+    // The queue is unbounded, so the pool never grows past its core size; idle threads exit
+    private static ThreadPoolExecutor newPool(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new PriorityBlockingQueue<>(),
+                runnable -> new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, "starplan-" + name + "-" + count.incrementAndGet()));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Orders the pool queue by priority, then first come first served
+    private static final class PrioritizedTask extends FutureTask<Void>
+            implements Comparable<PrioritizedTask> {
+        private final Priority priority;
+        private final long sequence = SEQUENCE.getAndIncrement();
+
+        PrioritizedTask(Runnable work, Priority priority) {
+            super(work, null);
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class BoundTask<T> implements DefaultLifecycleObserver, Handle, Reporter<T> {
+        private final Lifecycle lifecycle;
+        private final Callback<T> callback;
+        private volatile boolean cancelled;
+        private boolean finished; // Main thread only
+        private Future<?> future;
+
+        BoundTask(Lifecycle lifecycle, Callback<T> callback) {
+            this.lifecycle = lifecycle;
+            this.callback = callback;
+        }
+
+        // Worker thread
+        void execute(Task<T> task) {
+            if (cancelled) return;
+            try {
+                T result = task.run(this);
+                if (!cancelled) MAIN.post(() -> finish(() -> callback.onResult(result)));
+            } catch (Exception e) {
+                // Interrupting a cancelled task usually surfaces as an exception; nobody is listening
+                if (!cancelled) MAIN.post(() -> finish(() -> callback.onError(e)));
+            }
+        }
+
+        @Override
+        public void publish(T update) {
+            if (cancelled) return;
+            // Posted before the result, so updates never arrive after it
+            MAIN.post(() -> {
+                if (!cancelled && !finished) callback.onUpdate(update);
+            });
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Main thread only.
+         */
+        @Override
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            if (future != null) future.cancel(true);
+            lifecycle.removeObserver(this);
+        }
+
+        @Override
+        public void onDestroy(@NonNull LifecycleOwner owner) {
+            cancel();
+        }
+
+        private void finish(Runnable delivery) {
+            if (finished) return;
+            finished = true;
+            lifecycle.removeObserver(this);
+            if (!cancelled) delivery.run();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.starplan;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The user's resume skills, persisted so the home feed can rank jobs against them.
+ * Skills are stored in the order they were added.
+ */
+public final class UserSkillsStore {
+    private static final String PREFS_NAME = "user_skills";
+    private static final String KEY_SKILLS = "skills";
+    // Skill names cannot contain a newline (they come from single-line chips)
+    private static final String SEPARATOR = "\n";
+
+    private UserSkillsStore() {}
+
+    public static List<String> load(Context context) {
+        String stored = prefs(context).getString(KEY_SKILLS, "");
+        List<String> skills = new ArrayList<>();
+        for (String skill : stored.split(SEPARATOR)) {
+            if (!skill.trim().isEmpty()) skills.add(skill.trim());
+        }
+        return skills;
+    }
+
+    public static void save(Context context, Collection<String> skills) {
+        prefs(context).edit().putString(KEY_SKILLS, String.join(SEPARATOR, skills)).apply();
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.starplan;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Round-trips the build-generated binary catalog against its JSON source.
+ * Paths are passed in by the test task in app/build.gradle.kts.
+ */
+public class BinaryJobCatalogTest {
+    private List<SourceJob> jsonJobs;
+    private BinaryJobCatalog catalog;
+
+    @Before
+    public void setUp() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                new FileInputStream(System.getProperty("starplan.catalogJson")), StandardCharsets.UTF_8)) {
+            Type jobListType = new TypeToken<List<SourceJob>>(){}.getType();
+            jsonJobs = new Gson().fromJson(reader, jobListType);
+        }
+        try (InputStream in = new FileInputStream(System.getProperty("starplan.catalogBin"))) {
+            catalog = BinaryJobCatalog.read(in);
+        }
+    }
+
+    @Test
+    public void everyJobMatchesJsonSource() {
+        assertEquals(jsonJobs.size(), catalog.size());
+        for (int i = 0; i < jsonJobs.size(); i++) {
+            assertJobEquals(jsonJobs.get(i), catalog.get(i));
+        }
+    }
+
+    @Test
+    public void lookupByIdDecodesSameJob() {
+        SourceJob last = jsonJobs.get(jsonJobs.size() - 1);
+        int index = catalog.indexOfId(last.id);
+        assertEquals(jsonJobs.size() - 1, index);
+        assertEquals(last.id, catalog.idAt(index));
+        assertJobEquals(last, catalog.get(index));
+        assertEquals(-1, catalog.indexOfId(-42));
+    }
+
+    @Test
+    public void streamingParserMatchesJsonSource() throws IOException {
+        try (JobCatalogParser parser = new JobCatalogParser(
+                new FileInputStream(System.getProperty("starplan.catalogJson")))) {
+            int count = 0;
+            while (parser.hasNext()) {
+                assertJobEquals(jsonJobs.get(count++), parser.next());
+            }
+            assertEquals(jsonJobs.size(), count);
+        }
+    }
+
+    @Test
+    public void skillsShareDictionaryIds() {
+        Job first = catalog.get(0);
+        SkillDictionary dictionary = SkillDictionary.shared();
+        for (int i = 0; i < first.getSkillCount(); i++) {
+            assertEquals(first.skillIds[i], dictionary.find(first.getSkill(i).toUpperCase()));
+        }
+        assertEquals(-1, dictionary.find("not a skill in the catalog"));
+    }
+
+    // Job as it appears in the JSON source, with skills as names rather than ids
+    private static class SourceJob extends Job {
+        List<String> skills;
+    }
+
+    private static void assertJobEquals(SourceJob expected, Job actual) {
+        String where = "job " + expected.id;
+        assertEquals(where, expected.id, actual.id);
+        assertEquals(where, expected.jobTitle, actual.jobTitle);
+        assertEquals(where, expected.company, actual.company);
+        assertEquals(where, expected.description, actual.description);
+        assertEquals(where, expected.responsibilities, actual.responsibilities);
+        assertEquals(where, expected.qualifications, actual.qualifications);
+        assertEquals(where, expected.skills, actual.getSkills());
+        assertEquals(where, expected.location, actual.location);
+        assertEquals(where, expected.employmentType, actual.employmentType);
+        assertEquals(where, expected.experienceLevel, actual.experienceLevel);
+        assertEquals(where, expected.remote, actual.remote);
+        assertEquals(where, expected.salaryRange, actual.salaryRange);
+        assertEquals(where, expected.datePosted, actual.datePosted);
+        assertEquals(where, expected.validThrough, actual.validThrough);
+    }
+}
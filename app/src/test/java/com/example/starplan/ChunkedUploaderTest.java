@@ -0,0 +1,222 @@
+package com.example.starplan;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs ChunkedUploader against a MockWebServer stand-in for the Flask upload session
+ * endpoints, including connections that drop after the server has stored a chunk.
+ */
+public class ChunkedUploaderTest {
+    private static final int CHUNK_SIZE = 1024;
+    private static final byte[] PDF_HEADER = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+
+    private MockWebServer server;
+    private FakeUploadServer backend;
+    private ChunkedUploader uploader;
+    private byte[] file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new byte[10 * CHUNK_SIZE + 123];
+        new Random(42).nextBytes(file);
+        System.arraycopy(PDF_HEADER, 0, file, 0, PDF_HEADER.length);
+
+        backend = new FakeUploadServer();
+        server = new MockWebServer();
+        server.setDispatcher(backend);
+        server.start();
+
+        uploader = new ChunkedUploader(new OkHttpClient(), server.url("/").toString(), CHUNK_SIZE);
+        uploader.setRetryDelayMillis(0);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void uploadsFileInVerifiedChunks() throws Exception {
+        String result = uploader.upload(() -> new ByteArrayInputStream(file), "cv.pdf", null);
+
+        assertTrue(result.contains(sha256(file)));
+        assertArrayEquals(file, backend.received.toByteArray());
+        assertEquals(11, backend.chunksStored);
+        assertEquals(0, backend.chunksRejected);
+    }
+
+    @Test
+    public void resumesFromAcknowledgedOffsetAfterDroppedConnections() throws Exception {
+        // Chunks 3 and 7 reach the server but the client never sees the acknowledgement
+        backend.dropAfterStoringChunk = new boolean[11];
+        backend.dropAfterStoringChunk[3] = true;
+        backend.dropAfterStoringChunk[7] = true;
+
+        uploader.upload(() -> new ByteArrayInputStream(file), "cv.pdf", null);
+
+        assertArrayEquals(file, backend.received.toByteArray());
+        // Nothing was re-sent: the client asked for the offset instead of replaying the chunk
+        assertEquals(11, backend.chunksStored);
+        assertEquals(0, backend.chunksRejected);
+        assertEquals(2, backend.offsetQueries);
+    }
+
+    @Test
+    public void continuesAnExistingServerSession() throws Exception {
+        // A previous attempt got the first four chunks through before the app was killed
+        backend.received.write(file, 0, 4 * CHUNK_SIZE);
+        backend.sessionHash = sha256(file);
+
+        long[] firstProgress = {-1};
+        uploader.upload(() -> new ByteArrayInputStream(file), "cv.pdf", (acknowledged, total) -> {
+            if (firstProgress[0] < 0) firstProgress[0] = acknowledged;
+        });
+
+        assertEquals(4 * CHUNK_SIZE, firstProgress[0]);
+        assertArrayEquals(file, backend.received.toByteArray());
+        assertEquals(7, backend.chunksStored);
+    }
+
+    @Test
+    public void skipsFileTheServerAlreadyStores() throws Exception {
+        backend.storedHash = sha256(file);
+
+        long[] lastProgress = {-1};
+        String result = uploader.upload(() -> new ByteArrayInputStream(file), "cv.pdf",
+            (acknowledged, total) -> lastProgress[0] = acknowledged);
+
+        assertTrue(result.contains(sha256(file)));
+        assertEquals(file.length, lastProgress[0]);
+        assertEquals(0, backend.chunksStored);
+        assertEquals(0, backend.received.size());
+    }
+
+    @Test
+    public void resendsChunkCorruptedInTransit() throws Exception {
+        backend.corruptChunk = 5;
+
+        uploader.upload(() -> new ByteArrayInputStream(file), "cv.pdf", null);
+
+        assertArrayEquals(file, backend.received.toByteArray());
+        assertEquals(1, backend.chunksRejected);
+    }
+
+    @Test
+    public void rejectsFileThatIsNotAPdf() throws Exception {
+        file[0] = 'P';
+
+        try {
+            uploader.upload(() -> new ByteArrayInputStream(file), "cv.pdf", null);
+            fail("Expected the upload to be rejected");
+        } catch (ChunkedUploader.UploadRejectedException e) {
+            assertEquals(400, e.getCode());
+        }
+        // Rejected once on completion, not retried
+        assertEquals(11, backend.chunksStored);
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return Sha256.hex(Sha256.newDigest().digest(data));
+    }
+
+    /**
+     * Minimal in-memory version of the /upload/sessions protocol in backend/app.py.
+     */
+    private static class FakeUploadServer extends Dispatcher {
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        String sessionHash;
+        long sessionSize;
+        // Hash of a file a previous upload completed
+        String storedHash;
+        boolean[] dropAfterStoringChunk = new boolean[0];
+        int corruptChunk = -1;
+        int chunksStored;
+        int chunksRejected;
+        int offsetQueries;
+
+        @Override
+        public synchronized MockResponse dispatch(RecordedRequest request) {
+            String path = request.getPath();
+            try {
+                if (path.equals("/upload/sessions") && request.getMethod().equals("POST")) {
+                    String body = request.getBody().readUtf8();
+                    String hash = body.replaceAll(".*\"sha256\":\"([0-9a-f]+)\".*", "$1");
+                    sessionSize = Long.parseLong(body.replaceAll(".*\"size\":(\\d+).*", "$1"));
+                    if (hash.equals(storedHash)) {
+                        return new MockResponse().setBody("{\"complete\": true, \"filename\": \"cv.pdf\", \"sha256\": \""
+                            + hash + "\", \"size\": " + sessionSize + ", \"offset\": " + sessionSize + "}");
+                    }
+                    if (!hash.equals(sessionHash)) {
+                        sessionHash = hash;
+                        received.reset();
+                    }
+                    return status(201);
+                }
+                if (path.equals("/upload/sessions/abc") && request.getMethod().equals("GET")) {
+                    offsetQueries++;
+                    return status(200);
+                }
+                if (path.startsWith("/upload/sessions/abc/chunks?offset=")) {
+                    long offset = Long.parseLong(path.substring(path.indexOf('=') + 1));
+                    byte[] chunk = request.getBody().readByteArray();
+                    int index = (int) (offset / CHUNK_SIZE);
+                    if (index == corruptChunk) {
+                        corruptChunk = -1;
+                        chunk[0] ^= 1;
+                    }
+                    if (!sha256(chunk).equals(request.getHeader(ChunkedUploader.CHUNK_SHA256_HEADER))) {
+                        chunksRejected++;
+                        return new MockResponse().setResponseCode(400).setBody("{\"error\": \"Chunk checksum mismatch.\"}");
+                    }
+                    if (offset != received.size()) {
+                        return new MockResponse().setResponseCode(409)
+                            .setBody("{\"error\": \"Offset mismatch.\", \"offset\": " + received.size() + "}");
+                    }
+                    received.write(chunk);
+                    chunksStored++;
+                    if (index < dropAfterStoringChunk.length && dropAfterStoringChunk[index]) {
+                        dropAfterStoringChunk[index] = false;
+                        return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+                    }
+                    return status(200);
+                }
+                if (path.equals("/upload/sessions/abc/complete")) {
+                    if (received.size() != sessionSize) {
+                        return new MockResponse().setResponseCode(409)
+                            .setBody("{\"error\": \"Upload is incomplete.\", \"offset\": " + received.size() + "}");
+                    }
+                    if (!sha256(received.toByteArray()).equals(sessionHash)) {
+                        return new MockResponse().setResponseCode(422).setBody("{\"error\": \"File checksum mismatch.\"}");
+                    }
+                    if (!new String(received.toByteArray(), 0, 4, StandardCharsets.US_ASCII).equals("%PDF")) {
+                        return new MockResponse().setResponseCode(400).setBody("{\"error\": \"Uploaded file is not a PDF.\"}");
+                    }
+                    return new MockResponse().setBody("{\"filename\": \"cv.pdf\", \"sha256\": \"" + sessionHash + "\"}");
+                }
+            } catch (Exception e) {
+                return new MockResponse().setResponseCode(500).setBody("{\"error\": \"" + e + "\"}");
+            }
+            return new MockResponse().setResponseCode(404);
+        }
+
+        private MockResponse status(int code) {
+            return new MockResponse().setResponseCode(code).setBody("{\"upload_id\": \"abc\", \"chunk_size\": "
+                + CHUNK_SIZE + ", \"size\": " + sessionSize + ", \"offset\": " + received.size() + "}");
+        }
+    }
+}
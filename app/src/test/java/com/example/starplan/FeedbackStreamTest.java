@@ -0,0 +1,129 @@
+package com.example.starplan;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Reads /get_feedback/stream style NDJSON from a MockWebServer stub that sends the body
+ * slowly, checking that events are surfaced as they arrive rather than at the end.
+ */
+public class FeedbackStreamTest {
+    private static final String STREAM =
+        "{\"type\": \"overall_score\", \"key\": \"overall_score\", \"score\": 77, \"justification\": \"Solid match.\"}\n"
+        + "{\"type\": \"criterion\", \"category\": \"impact\", \"name\": \"Quantifying Impact\", \"score\": 5, \"justification\": \"Few numbers.\"}\n"
+        + "\n"
+        + "{\"type\": \"criterion\", \"category\": \"impact\", \"name\": \"Action Verb Use\", \"score\": 10, \"justification\": \"Strong verbs.\"}\n"
+        + "{\"type\": \"criterion\", \"category\": \"style\", \"name\": \"Sections\", \"score\": 9, \"justification\": \"Clear sections.\"}\n"
+        + "{\"type\": \"section_score\", \"key\": \"impact_score\", \"score\": 75, \"justification\": \"Good verbs, few metrics.\"}\n";
+
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void surfacesEachEventAsItArrives() throws IOException {
+        String complete = "{\"type\": \"complete\"}\n";
+        server.enqueue(new MockResponse()
+            .setHeader("Content-Type", "application/x-ndjson")
+            .setChunkedBody(STREAM + complete, 32)
+            .throttleBody(64, 50, TimeUnit.MILLISECONDS));
+
+        List<JsonObject> updates = new ArrayList<>();
+        long[] firstUpdateAt = {0};
+        long start = System.nanoTime();
+        JsonObject result;
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/get_feedback/stream")).build()).execute()) {
+            result = FeedbackStream.read(response.body().charStream(), soFar -> {
+                if (updates.isEmpty()) firstUpdateAt[0] = System.nanoTime();
+                updates.add(soFar);
+            });
+        }
+        long total = System.nanoTime() - start;
+
+        assertEquals(5, updates.size());
+        // The first snapshot has the overall score and nothing else yet
+        JsonObject first = updates.get(0).getAsJsonObject("feedback");
+        assertEquals(77, first.getAsJsonObject("overall_score").get("score").getAsInt());
+        assertFalse(first.has("feedback"));
+        // Rendering could start well before the stream finished
+        assertTrue(firstUpdateAt[0] - start < total / 2);
+
+        JsonObject feedback = result.getAsJsonObject("feedback");
+        JsonObject impact = feedback.getAsJsonObject("feedback").getAsJsonObject("impact");
+        assertEquals(2, impact.size());
+        assertEquals(10, impact.getAsJsonObject("Action Verb Use").get("score").getAsInt());
+        assertEquals(75, feedback.getAsJsonObject("impact_score").get("score").getAsInt());
+    }
+
+    @Test
+    public void completeEventFeedbackIsAuthoritative() throws IOException {
+        String complete = "{\"type\": \"complete\", \"feedback\": {\"overall_score\": {\"score\": 80, \"justification\": \"Final.\"}}}\n";
+        JsonObject result = FeedbackStream.read(new StringReader(STREAM + complete), null);
+
+        assertEquals(80, result.getAsJsonObject("feedback").getAsJsonObject("overall_score").get("score").getAsInt());
+    }
+
+    @Test(expected = FeedbackStream.StreamErrorException.class)
+    public void errorEventFailsTheStream() throws IOException {
+        FeedbackStream.read(new StringReader(STREAM + "{\"type\": \"error\", \"error\": \"LLM unavailable\"}\n"), null);
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedStreamFails() throws IOException {
+        FeedbackStream.read(new StringReader(STREAM), null);
+    }
+
+    @Test
+    public void readsBatchResultsInCompletionOrder() throws IOException {
+        String batch = "{\"type\": \"result\", \"job_id\": 7, \"feedback\": {\"overall_score\": {\"score\": 64, \"justification\": \"Some overlap.\"}}}\n"
+            + "{\"type\": \"job_error\", \"job_id\": 99, \"error\": \"Job not found.\"}\n"
+            + "{\"type\": \"result\", \"job_id\": 2, \"feedback\": {\"overall_score\": {\"score\": 88, \"justification\": \"Strong match.\"}}}\n"
+            + "{\"type\": \"complete\"}\n";
+        List<Integer> order = new ArrayList<>();
+        List<Integer> failed = new ArrayList<>();
+        int[] bestScore = {0};
+
+        FeedbackStream.readBatch(new StringReader(batch), new FeedbackStream.BatchListener() {
+            @Override
+            public void onResult(int jobId, JsonObject response) {
+                order.add(jobId);
+                int score = response.getAsJsonObject("feedback").getAsJsonObject("overall_score").get("score").getAsInt();
+                bestScore[0] = Math.max(bestScore[0], score);
+            }
+
+            @Override
+            public void onJobError(int jobId, String error) {
+                failed.add(jobId);
+            }
+        });
+
+        assertEquals(List.of(7, 2), order);
+        assertEquals(List.of(99), failed);
+        assertEquals(88, bestScore[0]);
+    }
+}
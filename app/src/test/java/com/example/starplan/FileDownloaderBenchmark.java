@@ -0,0 +1,95 @@
+package com.example.starplan;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Random;
+import java.util.logging.Logger;
+import okhttp3.ResponseBody;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Rough JVM throughput comparison of saving a downloaded resume: the previous 4 KB byte[]
+ * copy loop against FileDownloader. Each variant writes a fresh in-memory response body to
+ * disk. Skipped unless the tests run with -Pbenchmarks; results are logged.
+ */
+public class FileDownloaderBenchmark {
+    private static final Logger LOG = Logger.getLogger(FileDownloaderBenchmark.class.getName());
+    private static final int FILE_SIZE = 8 * 1024 * 1024;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private File directory;
+
+    private interface Saver {
+        File save(ResponseBody body, File directory, String filename) throws IOException;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Assume.assumeTrue("Benchmarks run with -Pbenchmarks", Boolean.getBoolean("starplan.benchmarks"));
+        directory = Files.createTempDirectory("downloads").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        if (directory == null) return;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void compareThroughput() throws IOException {
+        byte[] content = new byte[FILE_SIZE];
+        new Random(7).nextBytes(content);
+
+        // Previous approach: unbuffered 4 KB copy straight into the final file
+        Saver byteArrayLoop = (body, dir, filename) -> copyLoop(body, new File(dir, filename), false);
+        // Same loop made as durable as FileDownloader, to separate fsync cost from copy cost
+        Saver byteArrayLoopSynced = (body, dir, filename) -> copyLoop(body, new File(dir, filename), true);
+        Saver okioSink = (body, dir, filename) -> FileDownloader.download(body, dir, filename, null);
+
+        report("4 KB byte[] loop", byteArrayLoop, content, directory);
+        report("4 KB byte[] loop + fsync", byteArrayLoopSynced, content, directory);
+        report("FileDownloader (Okio)", okioSink, content, directory);
+    }
+
+    private static File copyLoop(ResponseBody body, File file, boolean sync) throws IOException {
+        FileOutputStream fos = new FileOutputStream(file);
+        InputStream is = body.byteStream();
+        byte[] buffer = new byte[4096];
+        int bytesRead;
+        while ((bytesRead = is.read(buffer)) != -1) {
+            fos.write(buffer, 0, bytesRead);
+        }
+        if (sync) fos.getFD().sync();
+        fos.close();
+        is.close();
+        return file;
+    }
+
+    private static void report(String name, Saver saver, byte[] content, File directory) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            File file = saver.save(ResponseBody.create(content, null), directory, "resume.pdf");
+            assertEquals(content.length, file.length());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            saver.save(ResponseBody.create(content, null), directory, "resume.pdf");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double megabytes = (double) content.length * MEASURED_ROUNDS / (1024 * 1024);
+        LOG.info(String.format(Locale.US, "%-28s %10.1f MB/s", name, megabytes / seconds));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.starplan;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Rough JVM load-time comparison of the catalog formats. Each variant includes
+ * reading the file from disk. Skipped unless the tests run with -Pbenchmarks;
+ * results are logged.
+ */
+public class JobCatalogLoadBenchmark {
+    private static final Logger LOG = Logger.getLogger(JobCatalogLoadBenchmark.class.getName());
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private interface Loader {
+        int load() throws IOException;
+    }
+
+    // Job as Gson used to fill it, before skills became dictionary ids, so the baseline
+    // still decodes every field including the skill names
+    @SuppressWarnings("unused")
+    private static class GsonJob {
+        int id;
+        String jobTitle;
+        String company;
+        String description;
+        List<String> responsibilities;
+        List<String> qualifications;
+        List<String> skills;
+        String location;
+        String employmentType;
+        String experienceLevel;
+        String remote;
+        String salaryRange;
+        String datePosted;
+        String validThrough;
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue("Benchmarks run with -Pbenchmarks", Boolean.getBoolean("starplan.benchmarks"));
+    }
+
+    @Test
+    public void compareLoadTimes() throws IOException {
+        String jsonPath = System.getProperty("starplan.catalogJson");
+        String binPath = System.getProperty("starplan.catalogBin");
+
+        // Previous approach: whole file into a String, then reflective Gson
+        Loader gsonString = () -> {
+            StringBuilder jsonBuilder = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(jsonPath), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    jsonBuilder.append(line);
+                }
+            }
+            Type jobListType = new TypeToken<List<GsonJob>>(){}.getType();
+            List<GsonJob> jobs = new Gson().fromJson(jsonBuilder.toString(), jobListType);
+            return jobs.size();
+        };
+        Loader streamingJson = () -> {
+            try (JobCatalogParser parser = new JobCatalogParser(new FileInputStream(jsonPath))) {
+                int count = 0;
+                while (parser.hasNext()) {
+                    parser.next();
+                    count++;
+                }
+                return count;
+            }
+        };
+        Loader binaryAll = () -> {
+            BinaryJobCatalog catalog = new BinaryJobCatalog(ByteBuffer.wrap(Files.readAllBytes(Paths.get(binPath))));
+            for (int i = 0; i < catalog.size(); i++) {
+                catalog.get(i);
+            }
+            return catalog.size();
+        };
+        Loader binaryFirstPage = () -> {
+            BinaryJobCatalog catalog = new BinaryJobCatalog(ByteBuffer.wrap(Files.readAllBytes(Paths.get(binPath))));
+            for (int i = 0; i < 20; i++) {
+                catalog.get(i);
+            }
+            return catalog.size();
+        };
+
+        int expected = gsonString.load();
+        report("gson (string + reflection)", gsonString, expected);
+        report("streaming JsonReader", streamingJson, expected);
+        report("binary, decode all", binaryAll, expected);
+        report("binary, first page of 20", binaryFirstPage, expected);
+    }
+
+    private static void report(String name, Loader loader, int expected) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(expected, loader.load());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            loader.load();
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / MEASURED_ROUNDS;
+        LOG.info(String.format(Locale.US, "%-28s %10.1f us/load", name, micros));
+    }
+}
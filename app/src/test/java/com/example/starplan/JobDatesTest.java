@@ -0,0 +1,100 @@
+package com.example.starplan;
+
+import static org.junit.Assert.*;
+
+import java.util.TimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobDatesTest {
+    private static final long DAY = JobDates.DAY_MILLIS;
+    private static final long HOUR = DAY / 24;
+    // 2025-11-14T00:00:00Z
+    private static final long NOV_14 = 1_763_078_400_000L;
+
+    private TimeZone defaultZone;
+
+    @Before
+    public void setUp() {
+        // Labels follow the local date; UTC unless a test says otherwise
+        defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    public void parsesIsoDaysAsUtcMidnight() {
+        assertEquals(0L, JobDates.parseDay("1970-01-01"));
+        assertEquals(NOV_14, JobDates.parseDay("2025-11-14"));
+        assertEquals(NOV_14 - 13 * DAY, JobDates.parseDay("2025-11-01"));
+        assertEquals(JobDates.parseDay("2024-03-01") - DAY, JobDates.parseDay("2024-02-29"));
+
+        assertEquals(JobDates.UNKNOWN, JobDates.parseDay(null));
+        assertEquals(JobDates.UNKNOWN, JobDates.parseDay("2025-11-4"));
+        assertEquals(JobDates.UNKNOWN, JobDates.parseDay("2025-13-01"));
+        assertEquals(JobDates.UNKNOWN, JobDates.parseDay("2025/11/14"));
+        assertEquals(JobDates.UNKNOWN, JobDates.parseDay("Nov 14 2025"));
+    }
+
+    @Test
+    public void postedLabelChangesAtUtcMidnight() {
+        Job job = postedOn(NOV_14);
+
+        assertEquals("Posted today", JobDates.postedLabel(job, NOV_14));
+        assertEquals("Posted today", JobDates.postedLabel(job, NOV_14 + DAY - 1));
+        assertEquals("Posted yesterday", JobDates.postedLabel(job, NOV_14 + DAY));
+        assertEquals("Posted 6 days ago", JobDates.postedLabel(job, NOV_14 + 6 * DAY));
+        assertEquals("Posted 1 week ago", JobDates.postedLabel(job, NOV_14 + 7 * DAY));
+        assertEquals("Posted 4 weeks ago", JobDates.postedLabel(job, NOV_14 + 29 * DAY));
+        assertEquals("Posted 1 month ago", JobDates.postedLabel(job, NOV_14 + 30 * DAY));
+        assertEquals("Posted 11 months ago", JobDates.postedLabel(job, NOV_14 + 330 * DAY));
+        assertEquals("Posted 11 months ago", JobDates.postedLabel(job, NOV_14 + 364 * DAY));
+        assertEquals("Posted over a year ago", JobDates.postedLabel(job, NOV_14 + 365 * DAY));
+        assertEquals("Posted over a year ago", JobDates.postedLabel(job, NOV_14 + 5000 * DAY));
+
+        // A posting date ahead of the clock reads as today rather than a negative age
+        assertEquals("Posted today", JobDates.postedLabel(job, NOV_14 - DAY));
+        assertEquals("", JobDates.postedLabel(postedOn(JobDates.UNKNOWN), NOV_14));
+    }
+
+    @Test
+    public void expiresOnceItsLastDayHasPassed() {
+        Job job = postedOn(NOV_14 - 20 * DAY);
+        job.validThroughMillis = NOV_14;
+
+        assertFalse(JobDates.isExpired(job, NOV_14));
+        assertFalse(JobDates.isExpired(job, NOV_14 + DAY - 1));
+        assertTrue(JobDates.isExpired(job, NOV_14 + DAY));
+        assertEquals("Posted 2 weeks ago", JobDates.statusLabel(job, NOV_14 + DAY - 1));
+        assertEquals(JobDates.EXPIRED_LABEL, JobDates.statusLabel(job, NOV_14 + DAY));
+
+        job.validThroughMillis = JobDates.UNKNOWN;
+        assertFalse(JobDates.isExpired(job, NOV_14 + 5000 * DAY));
+    }
+
+    @Test
+    public void countsDaysInTheLocalTimeZone() {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        long jan10 = JobDates.parseDay("2026-01-10");
+        Job job = postedOn(jan10);
+        job.validThroughMillis = jan10;
+
+        // 2026-01-11T03:00Z is still the evening of Jan 10 in New York (UTC-5)
+        long lateOnJan10 = jan10 + DAY + 3 * HOUR;
+        assertEquals("Posted today", JobDates.postedLabel(job, lateOnJan10));
+        assertFalse(JobDates.isExpired(job, lateOnJan10));
+
+        long midnightJan11 = jan10 + DAY + 5 * HOUR;
+        assertEquals("Posted yesterday", JobDates.postedLabel(job, midnightJan11));
+        assertTrue(JobDates.isExpired(job, midnightJan11));
+    }
+
+    private static Job postedOn(long millis) {
+        return TestJobs.job(1).postedAt(millis).build();
+    }
+}
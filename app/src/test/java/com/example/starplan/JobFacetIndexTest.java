@@ -0,0 +1,130 @@
+package com.example.starplan;
+
+import static org.junit.Assert.*;
+
+import com.example.starplan.JobFacetIndex.Facet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobFacetIndexTest {
+    private Job seattleFullTime;
+    private Job seattleContract;
+    private Job austinFullTime;
+    private Job hourlyRemote;
+    private JobFacetIndex index;
+    private TimeZone defaultZone;
+
+    @Before
+    public void setUp() {
+        // Status and recency follow the local date; fixed here so the expected days hold anywhere
+        defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        seattleFullTime = job(1, "Seattle, WA", "Full-time", "$100k-$150k per year");
+        seattleContract = job(2, "Seattle, WA", "Contract", "$60k-$99,999 per year");
+        austinFullTime = job(3, "Austin, TX", "Full-time", "$150k-$200k per year");
+        hourlyRemote = job(4, "Remote", "Contract", "$25-$40 per hour");
+        index = new JobFacetIndex(Arrays.asList(seattleFullTime, seattleContract, austinFullTime, hourlyRemote));
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    public void parsesAnnualAndHourlySalaries() {
+        assertArrayEquals(new int[]{123_000, 228_000}, JobFacetIndex.parseAnnualSalary("$123k-$228k per year"));
+        assertArrayEquals(new int[]{90_000, 120_500}, JobFacetIndex.parseAnnualSalary("$90,000 - $120,500"));
+        // 40 hours a week, 52 weeks a year
+        assertArrayEquals(new int[]{52_000, 83_200}, JobFacetIndex.parseAnnualSalary("$25-$40 per hour"));
+        assertArrayEquals(new int[]{36_400, 41_600}, JobFacetIndex.parseAnnualSalary("$17.50-$20 Per Hour"));
+        assertNull(JobFacetIndex.parseAnnualSalary("Competitive"));
+        assertNull(JobFacetIndex.parseAnnualSalary(null));
+    }
+
+    @Test
+    public void salaryBandsIncludeTheirLowerEdge() {
+        assertEquals(Arrays.asList("$50k+", "$100k+", "$150k+", "$200k+"), index.getValues(Facet.SALARY));
+
+        // Band membership goes by the top of the range: 150k reaches $150k+, 99,999 misses $100k+
+        assertEquals(Arrays.asList(seattleFullTime, seattleContract, austinFullTime, hourlyRemote),
+                jobs(select(Facet.SALARY, "$50k+")));
+        assertEquals(Arrays.asList(seattleFullTime, austinFullTime), jobs(select(Facet.SALARY, "$100k+")));
+        assertEquals(Arrays.asList(seattleFullTime, austinFullTime), jobs(select(Facet.SALARY, "$150k+")));
+        assertEquals(Arrays.asList(austinFullTime), jobs(select(Facet.SALARY, "$200k+")));
+        assertEquals(99_999, index.getSalaryMax(seattleContract));
+        assertEquals(83_200, index.getSalaryMax(hourlyRemote));
+    }
+
+    @Test
+    public void combinesValuesWithOrAndFacetsWithAnd() {
+        Map<Facet, Set<String>> selection = select(Facet.LOCATION, "Seattle, WA", "Austin, TX");
+        assertEquals(Arrays.asList(seattleFullTime, seattleContract, austinFullTime), jobs(selection));
+
+        selection.put(Facet.EMPLOYMENT_TYPE, new HashSet<>(Collections.singletonList("Full-time")));
+        assertEquals(Arrays.asList(seattleFullTime, austinFullTime), jobs(selection));
+    }
+
+    @Test
+    public void countsIgnoreTheirOwnFacetSelection() {
+        Map<Facet, Set<String>> selection = select(Facet.LOCATION, "Seattle, WA");
+        selection.put(Facet.EMPLOYMENT_TYPE, new HashSet<>(Collections.singletonList("Contract")));
+
+        // Location counts are narrowed by the employment type only
+        Map<String, Integer> locations = index.counts(Facet.LOCATION, selection);
+        assertEquals(Integer.valueOf(0), locations.get("Austin, TX"));
+        assertEquals(Integer.valueOf(1), locations.get("Remote"));
+        assertEquals(Integer.valueOf(1), locations.get("Seattle, WA"));
+
+        // Employment type counts are narrowed by the location only
+        Map<String, Integer> types = index.counts(Facet.EMPLOYMENT_TYPE, selection);
+        assertEquals(Integer.valueOf(1), types.get("Contract"));
+        assertEquals(Integer.valueOf(1), types.get("Full-time"));
+
+        Map<String, Integer> bands = index.counts(Facet.SALARY, selection);
+        assertEquals(Integer.valueOf(1), bands.get("$50k+"));
+        assertEquals(Integer.valueOf(0), bands.get("$100k+"));
+    }
+
+    @Test
+    public void expiredJobsAreOnlyHiddenWhenOpenIsSelected() {
+        long nov14 = JobDates.parseDay("2025-11-14");
+        seattleFullTime.validThroughMillis = nov14;
+        austinFullTime.validThroughMillis = nov14 + JobDates.DAY_MILLIS;
+        index = new JobFacetIndex(Arrays.asList(seattleFullTime, seattleContract, austinFullTime, hourlyRemote));
+        index.setNow(nov14 + JobDates.DAY_MILLIS);
+
+        Map<Facet, Set<String>> none = new EnumMap<>(Facet.class);
+        assertEquals(4, index.filter(none).cardinality());
+        assertEquals(Arrays.asList(seattleContract, austinFullTime, hourlyRemote),
+                jobs(select(Facet.STATUS, JobFacetIndex.STATUS_OPEN)));
+        assertEquals(Arrays.asList(seattleFullTime), jobs(select(Facet.STATUS, JobFacetIndex.STATUS_EXPIRED)));
+
+        // Recomputed when the day changes
+        assertTrue(index.setNow(nov14 + 2 * JobDates.DAY_MILLIS));
+        assertEquals(Integer.valueOf(2), index.counts(Facet.STATUS, none).get(JobFacetIndex.STATUS_EXPIRED));
+    }
+
+    private List<Job> jobs(Map<Facet, Set<String>> selection) {
+        return index.jobsFor(index.filter(selection));
+    }
+
+    private static Map<Facet, Set<String>> select(Facet facet, String... values) {
+        Map<Facet, Set<String>> selection = new EnumMap<>(Facet.class);
+        selection.put(facet, new HashSet<>(Arrays.asList(values)));
+        return selection;
+    }
+
+    private static Job job(int id, String location, String employmentType, String salaryRange) {
+        return TestJobs.job(id).location(location).employmentType(employmentType).salaryRange(salaryRange).build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.starplan;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobSearchIndexTest {
+    private Job androidAtAcme;
+    private Job backendAtAcme;
+    private Job androidAtGlobex;
+    private JobSearchIndex index;
+
+    @Before
+    public void setUp() {
+        androidAtAcme = job(1, "Android Developer", "Acme", "Kotlin", "Java");
+        backendAtAcme = job(2, "Backend Engineer", "Acme", "Java", "SQL");
+        androidAtGlobex = job(3, "Senior Android Engineer", "Globex", "Kotlin");
+        index = new JobSearchIndex(Arrays.asList(androidAtAcme, backendAtAcme, androidAtGlobex));
+    }
+
+    @Test
+    public void matchesTokensAsWordPrefixes() {
+        assertEquals(Arrays.asList(androidAtAcme, androidAtGlobex), index.search("andr"));
+        assertEquals(Arrays.asList(backendAtAcme), index.search("back"));
+        // Prefixes anchor at the start of a word only
+        assertTrue(index.search("droid").isEmpty());
+    }
+
+    @Test
+    public void requiresEveryToken() {
+        assertEquals(Arrays.asList(androidAtAcme), index.search("android acme"));
+        assertEquals(Arrays.asList(backendAtAcme), index.search("engineer sql"));
+        assertTrue(index.search("android sql").isEmpty());
+        assertTrue(index.search("android nosuchword").isEmpty());
+    }
+
+    @Test
+    public void wholeWordMatchOutranksPrefixMatch() {
+        Job javaTitle = job(4, "Java Developer", "Initech");
+        Job javascriptTitle = job(5, "JavaScript Developer", "Initech");
+        JobSearchIndex titles = new JobSearchIndex(Arrays.asList(javascriptTitle, javaTitle));
+
+        assertEquals(Arrays.asList(javaTitle, javascriptTitle), titles.search("java"));
+    }
+
+    @Test
+    public void normalisesCaseAndAccents() {
+        Job cafe = job(6, "Caf\u00e9 Manager", "Bistro");
+        JobSearchIndex single = new JobSearchIndex(Arrays.asList(cafe));
+
+        assertEquals(Arrays.asList(cafe), single.search("CAFE"));
+        assertEquals(Arrays.asList("c++", "c#", "net"), JobSearchIndex.tokenize("C++, C# / .NET"));
+    }
+
+    @Test
+    public void emptyQueryMatchesNothing() {
+        assertTrue(index.search("").isEmpty());
+        assertTrue(index.search("  - ").isEmpty());
+    }
+
+    private static Job job(int id, String title, String company, String... skills) {
+        return TestJobs.job(id).title(title).company(company).skills(skills).build();
+    }
+}
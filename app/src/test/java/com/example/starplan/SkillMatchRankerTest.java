@@ -0,0 +1,85 @@
+package com.example.starplan;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SkillMatchRankerTest {
+    private Job kotlinAndJava;
+    private Job javaAndSql;
+    private Job pythonMentionsKotlin;
+    private SkillMatchRanker ranker;
+
+    @Before
+    public void setUp() {
+        kotlinAndJava = job(1, "", "Kotlin", "Java");
+        javaAndSql = job(2, "", "Java", "SQL");
+        pythonMentionsKotlin = job(3, "Some experience with Kotlin is a plus", "Python");
+        ranker = new SkillMatchRanker(Arrays.asList(javaAndSql, pythonMentionsKotlin, kotlinAndJava));
+    }
+
+    @Test
+    public void ranksListedSkillsAboveQualificationMentions() {
+        assertTrue(ranker.addUserSkill("kotlin"));
+
+        assertEquals(Arrays.asList(kotlinAndJava, pythonMentionsKotlin, javaAndSql), ranker.rankCatalog());
+        assertTrue(ranker.getScore(pythonMentionsKotlin) > 0f);
+        assertEquals(0f, ranker.getScore(javaAndSql), 0f);
+
+        // Every skill the job lists, and nothing it only mentions
+        assertTrue(ranker.addUserSkill("JAVA"));
+        assertEquals(1f, ranker.getScore(kotlinAndJava), 1e-6);
+    }
+
+    @Test
+    public void removingASkillRestoresPreviousScores() {
+        ranker.addUserSkill("Kotlin");
+        float kotlinOnly = ranker.getScore(kotlinAndJava);
+        float mentionOnly = ranker.getScore(pythonMentionsKotlin);
+
+        for (int i = 0; i < 1000; i++) {
+            ranker.addUserSkill("Java");
+            ranker.addUserSkill("SQL");
+            ranker.removeUserSkill("SQL");
+            ranker.removeUserSkill("Java");
+        }
+        assertEquals(kotlinOnly, ranker.getScore(kotlinAndJava), 0f);
+        assertEquals(mentionOnly, ranker.getScore(pythonMentionsKotlin), 0f);
+        assertEquals(0f, ranker.getScore(javaAndSql), 0f);
+
+        ranker.removeUserSkill("Kotlin");
+        assertFalse(ranker.hasUserSkills());
+        for (Job job : Arrays.asList(kotlinAndJava, javaAndSql, pythonMentionsKotlin)) {
+            assertEquals(0f, ranker.getScore(job), 0f);
+        }
+    }
+
+    @Test
+    public void setUserSkillsOnlyAppliesTheDifference() {
+        assertTrue(ranker.setUserSkills(Arrays.asList("Java", "Kotlin")));
+        float both = ranker.getScore(kotlinAndJava);
+        assertFalse(ranker.setUserSkills(Arrays.asList("kotlin", "java", "Not A Catalog Skill")));
+        assertEquals(both, ranker.getScore(kotlinAndJava), 0f);
+
+        assertTrue(ranker.setUserSkills(Collections.singletonList("SQL")));
+        assertEquals(Arrays.asList(javaAndSql, pythonMentionsKotlin, kotlinAndJava), ranker.rankCatalog());
+        assertEquals(0f, ranker.getScore(kotlinAndJava), 0f);
+    }
+
+    @Test
+    public void rankingPagesThroughTheCatalog() {
+        ranker.addUserSkill("SQL");
+        int[] ranking = ranker.rank();
+
+        // Ties keep catalog order
+        assertEquals(Collections.singletonList(javaAndSql), ranker.jobsAt(ranking, 0, 1));
+        assertEquals(Arrays.asList(pythonMentionsKotlin, kotlinAndJava), ranker.jobsAt(ranking, 1, 3));
+    }
+
+    private static Job job(int id, String qualification, String... skills) {
+        return TestJobs.job(id).qualifications(qualification).skills(skills).build();
+    }
+}
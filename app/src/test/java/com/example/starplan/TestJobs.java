@@ -0,0 +1,79 @@
+package com.example.starplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds {@link Job} fixtures for unit tests. Fields that a test does not set keep
+ * the values a parsed job without them would have: empty lists, no skills and
+ * unknown dates.
+ */
+final class TestJobs {
+    private final Job job = new Job();
+
+    private TestJobs(int id) {
+        job.id = id;
+        job.responsibilities = new ArrayList<>();
+        job.qualifications = new ArrayList<>();
+        job.skillIds = new int[0];
+    }
+
+    static TestJobs job(int id) {
+        return new TestJobs(id);
+    }
+
+    TestJobs title(String title) {
+        job.jobTitle = title;
+        return this;
+    }
+
+    TestJobs company(String company) {
+        job.company = company;
+        return this;
+    }
+
+    TestJobs description(String description) {
+        job.description = description;
+        return this;
+    }
+
+    TestJobs qualifications(String... qualifications) {
+        job.qualifications = new ArrayList<>(Arrays.asList(qualifications));
+        return this;
+    }
+
+    TestJobs skills(String... skills) {
+        job.skillIds = SkillDictionary.shared().internAll(Arrays.asList(skills));
+        return this;
+    }
+
+    TestJobs location(String location) {
+        job.location = location;
+        return this;
+    }
+
+    TestJobs employmentType(String employmentType) {
+        job.employmentType = employmentType;
+        return this;
+    }
+
+    TestJobs salaryRange(String salaryRange) {
+        job.salaryRange = salaryRange;
+        return this;
+    }
+
+    TestJobs postedAt(long millis) {
+        job.postedAtMillis = millis;
+        return this;
+    }
+
+    TestJobs validThrough(long millis) {
+        job.validThroughMillis = millis;
+        return this;
+    }
+
+    Job build() {
+        return job;
+    }
+}
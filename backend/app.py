@@ -1,7 +1,16 @@
+import io
 import os
+import glob
+import re
 import json
+import uuid
+import hashlib
+import threading
+from collections import OrderedDict
+from concurrent.futures import ThreadPoolExecutor, as_completed
 import pdfplumber
-from flask import Flask, request, send_file, jsonify
+from flask import Flask, Response, request, send_file, jsonify, stream_with_context
+from werkzeug.utils import secure_filename
 from openai import OpenAI
 from dotenv import load_dotenv
 from docxtpl import DocxTemplate
@@ -67,19 +76,62 @@ def save_to_pdf(context, output_path="tailored_resume.pdf"):
     except Exception as e:
         return jsonify({"error": f"An error occurred while creating the PDF document: {e}"}), 500
 
-def get_job_description_by_id(job_id):
+# Job catalog index: job_listings.json is parsed once into a dict of id -> job already
+# serialised for the prompt, instead of being read and scanned on every request. It is
+# reloaded when the file's mtime or size changes, so edits show up without a restart.
+JOB_LISTINGS_PATH = "job_listings.json"
+job_index_lock = threading.Lock()
+job_index = {}
+job_index_version = None
+
+def _load_job_index():
     """
-    Loads job listings and returns the full job description for a given ID.
+    The current id -> job description index, reloading it first if the file changed.
+    If the file cannot be read or parsed, the last good index keeps being served until
+    the file changes again.
     """
+    global job_index, job_index_version
     try:
-        with open('job_listings.json', 'r') as f:
-            jobs = json.load(f)
-            for job in jobs:
-                if job.get('id') == job_id:
-                    return json.dumps(job) # Return as a string to pass to the API
-    except (FileNotFoundError, json.JSONDecodeError) as e:
-        return jsonify({"error": f"Error loading job listings: {e}"}), 500
-    return None
+        stat = os.stat(JOB_LISTINGS_PATH)
+    except OSError as e:
+        app.logger.error(f"Error loading job listings: {e}")
+        return job_index
+    version = (stat.st_mtime_ns, stat.st_size)
+    if version != job_index_version:
+        with job_index_lock:
+            if version != job_index_version:
+                try:
+                    with open(JOB_LISTINGS_PATH, "r") as f:
+                        jobs = json.load(f)
+                except (OSError, json.JSONDecodeError) as e:
+                    app.logger.error(f"Error loading job listings: {e}")
+                    job_index_version = version
+                    return job_index
+                index = {}
+                for job in jobs:
+                    # The first job with an id wins, as the old linear scan did
+                    index.setdefault(job.get("id"), json.dumps(job))
+                # Published before the version, so a reader never pairs the new version with old data
+                job_index = index
+                job_index_version = version
+    return job_index
+
+def get_job_description_by_id(job_id):
+    """
+    Returns the full job description for a given ID as a JSON string, or None.
+    """
+    return _load_job_index().get(job_id)
+
+def conditional_json(payload):
+    """
+    JSON response with an ETag of its body. A request whose If-None-Match matches gets an
+    empty 304 instead. max-age=0 makes clients revalidate before each use while still
+    letting them show their stored copy first (no-cache would forbid that).
+    """
+    response = jsonify(payload)
+    response.add_etag()
+    response.cache_control.max_age = 0
+    return response.make_conditional(request)
 
 # New Endpoint for general resume generation (no job description)
 @app.route("/generate_resume", methods=["POST"])
@@ -95,8 +147,8 @@ def generate_resume():
     file = request.files.get("resume")
     resume_text = ""
     if file and file.filename.endswith(".pdf"):
-        with pdfplumber.open(file) as pdf:
-            resume_text = " ".join([page.extract_text() for page in pdf.pages if page.extract_text()])
+        resume_bytes = file.read()
+        resume_text = resume_text_for(hashlib.sha256(resume_bytes).hexdigest(), resume_bytes)
     else:
         # Handle JSON data as an alternative input
         data = request.get_json()
@@ -139,32 +191,127 @@ def generate_resume():
     except Exception as e:
         return jsonify({"error": f"An error occurred: {e}"}), 500
 
-# New Endpoint to get resume feedback
-@app.route("/get_feedback", methods=["POST"])
-def get_feedback():
+# Parsed-resume cache: the text pdfplumber extracts from a resume, keyed by the SHA-256 of
+# the PDF bytes and kept on disk as <hash>.txt, so every endpoint pays for extraction once
+# per distinct resume. Entries are evicted least recently used first; a hit refreshes the
+# file's mtime, which is what orders the index again after a restart. Clients can send
+# resume_hash instead of the file and only upload it when the server answers resume_unknown.
+RESUME_TEXT_CACHE_DIR = "Resume Text Cache"
+RESUME_TEXT_CACHE_ENTRIES = 500
+resume_text_lock = threading.Lock()
+resume_text_index = None  # OrderedDict of hash -> None, least recently used first
+
+def extract_resume_text(pdf_file):
     """
-    Analyzes a resume against a job description and provides feedback.
+    Text of every page of a PDF (a path or file object), joined by spaces.
+    """
+    with pdfplumber.open(pdf_file) as pdf:
+        texts = (page.extract_text() for page in pdf.pages)
+        return " ".join(text for text in texts if text)
+
+def _resume_text_path(resume_hash):
+    return os.path.join(RESUME_TEXT_CACHE_DIR, f"{resume_hash}.txt")
+
+def _load_resume_text_index():
+    # Caller holds resume_text_lock
+    global resume_text_index
+    if resume_text_index is None:
+        os.makedirs(RESUME_TEXT_CACHE_DIR, exist_ok=True)
+        entries = []
+        for name in os.listdir(RESUME_TEXT_CACHE_DIR):
+            if name.endswith(".txt"):
+                path = os.path.join(RESUME_TEXT_CACHE_DIR, name)
+                entries.append((os.path.getmtime(path), name[:-len(".txt")]))
+        resume_text_index = OrderedDict((resume_hash, None) for _, resume_hash in sorted(entries))
+    return resume_text_index
+
+def cached_resume_text(resume_hash):
+    """
+    The cached text of a resume, or None on a miss.
+    """
+    with resume_text_lock:
+        index = _load_resume_text_index()
+        if resume_hash not in index:
+            return None
+        path = _resume_text_path(resume_hash)
+        try:
+            with open(path, "r", encoding="utf-8") as f:
+                text = f.read()
+            os.utime(path)
+        except FileNotFoundError:
+            del index[resume_hash]
+            return None
+        index.move_to_end(resume_hash)
+        return text
+
+def cache_resume_text(resume_hash, text):
+    path = _resume_text_path(resume_hash)
+    temp_path = f"{path}.{uuid.uuid4().hex}.tmp"
+    with open(temp_path, "w", encoding="utf-8") as f:
+        f.write(text)
+    with resume_text_lock:
+        index = _load_resume_text_index()
+        os.replace(temp_path, path)
+        index[resume_hash] = None
+        index.move_to_end(resume_hash)
+        while len(index) > RESUME_TEXT_CACHE_ENTRIES:
+            evicted, _ = index.popitem(last=False)
+            try:
+                os.remove(_resume_text_path(evicted))
+            except FileNotFoundError:
+                pass
+
+def resume_text_for(resume_hash, resume_bytes=None):
+    """
+    Text of the resume with this hash: from the cache, or extracted from resume_bytes and
+    cached. None when it is not cached and no bytes were sent.
+    """
+    text = cached_resume_text(resume_hash)
+    if text is None and resume_bytes is not None:
+        text = extract_resume_text(io.BytesIO(resume_bytes))
+        cache_resume_text(resume_hash, text)
+    return text
+
+def resume_from_request():
+    """
+    (hash, bytes) of the resume in a form request: an uploaded 'resume' file, or just its
+    'resume_hash' (bytes None). (None, None) when there is neither.
     """
-    job_id = request.form.get("job_id")
     file = request.files.get("resume")
-    
-    if not job_id or not file:
-        return jsonify({"error": "Missing job_id or resume file."}), 400
+    if file:
+        resume_bytes = file.read()
+        return hashlib.sha256(resume_bytes).hexdigest(), resume_bytes
+    resume_hash = (request.form.get("resume_hash") or "").lower()
+    if SHA256_PATTERN.match(resume_hash):
+        return resume_hash, None
+    return None, None
 
-    job_desc = get_job_description_by_id(int(job_id))
-    if not job_desc:
-        return jsonify({"error": "Job not found."}), 404
+def resume_unknown():
+    return jsonify({"error": "Resume not found. Upload the file again.", "resume_unknown": True}), 404
 
-    resume_text = ""
-    with pdfplumber.open(file) as pdf:
-        resume_text = " ".join([page.extract_text() for page in pdf.pages if page.extract_text()])
+# Feedback memo: one JSON file per (resume content hash, job id). The same resume checked
+# against the same job is answered from disk instead of another LLM call.
+FEEDBACK_CACHE_DIR = "Feedback Cache"
+
+def _feedback_cache_path(resume_hash, job_id):
+    return os.path.join(FEEDBACK_CACHE_DIR, f"{resume_hash}_{int(job_id)}.json")
 
+def load_cached_feedback(resume_hash, job_id):
     try:
-        response = client.chat.completions.create(
-            model="gpt-4.1-mini",
-            response_format={"type": "json_object"},
-            messages=[
-                {"role": "system", "content": """You are a professional career coach. Your task is to provide feedback on a resume based on a job description. The feedback MUST be a JSON object with the following keys and structure. Score each criterion on a scale of 0 to 10.
+        with open(_feedback_cache_path(resume_hash, job_id), "r") as f:
+            return json.load(f)
+    except (FileNotFoundError, json.JSONDecodeError):
+        return None
+
+def save_cached_feedback(resume_hash, job_id, feedback):
+    os.makedirs(FEEDBACK_CACHE_DIR, exist_ok=True)
+    path = _feedback_cache_path(resume_hash, job_id)
+    temp_path = f"{path}.{uuid.uuid4().hex}.tmp"
+    with open(temp_path, "w") as f:
+        json.dump(feedback, f)
+    os.replace(temp_path, path)
+
+FEEDBACK_PROMPT = """You are a professional career coach. Your task is to provide feedback on a resume based on a job description. The feedback MUST be a JSON object with the following keys and structure. Score each criterion on a scale of 0 to 10.
                 {
                     "overall_score": { "score": 77, "justification": "Overall, the resume is well-written and aligns with the job description, but it could be improved by adding more quantifiable achievements." },
                     "impact_score": { "score": 77, "justification": "The resume uses strong action verbs, but lacks quantifiable metrics to show impact." },
@@ -199,15 +346,292 @@ def get_feedback():
                     }
                 }
                 The 'feedback' key should contain a nested JSON object with scores and justifications for each sub-criterion. The 'overall_score', 'impact_score', 'brevity_score', and 'style_score' should be derived from the sub-scores with overall justifications. The output MUST be valid JSON.
-                """ },
-                {"role": "user", "content": f"Resume:\n{resume_text}\n\nJob Description:\n{job_desc}\n\nProvide feedback as a JSON object with the specified structure. The output MUST be valid JSON."}
-            ]
-        )
-        feedback_json = json.loads(response.choices[0].message.content)
+                """
+
+def request_feedback(resume_text, job_desc):
+    """
+    Asks the model for feedback on a resume against one job and returns the parsed JSON.
+    """
+    response = client.chat.completions.create(
+        model="gpt-4.1-mini",
+        response_format={"type": "json_object"},
+        messages=[
+            {"role": "system", "content": FEEDBACK_PROMPT},
+            {"role": "user", "content": f"Resume:\n{resume_text}\n\nJob Description:\n{job_desc}\n\nProvide feedback as a JSON object with the specified structure. The output MUST be valid JSON."}
+        ]
+    )
+    return json.loads(response.choices[0].message.content)
+
+# New Endpoint to get resume feedback
+@app.route("/get_feedback", methods=["POST"])
+def get_feedback():
+    """
+    Analyzes a resume against a job description and provides feedback.
+    """
+    job_id = request.form.get("job_id")
+    resume_hash, resume_bytes = resume_from_request()
+    
+    if not job_id or not resume_hash:
+        return jsonify({"error": "Missing job_id or resume file."}), 400
+
+    job_desc = get_job_description_by_id(int(job_id))
+    if not job_desc:
+        return jsonify({"error": "Job not found."}), 404
+
+    cached = load_cached_feedback(resume_hash, job_id)
+    if cached is not None:
+        return jsonify({"feedback": cached})
+
+    resume_text = resume_text_for(resume_hash, resume_bytes)
+    if resume_text is None:
+        return resume_unknown()
+
+    try:
+        feedback_json = request_feedback(resume_text, job_desc)
+        save_cached_feedback(resume_hash, job_id, feedback_json)
         return jsonify({"feedback": feedback_json})
     except Exception as e:
         return jsonify({"error": f"An error occurred: {e}"}), 500
 
+# Streaming variant of /get_feedback. The model is asked for one JSON object per line, and
+# each complete line is forwarded as an NDJSON event as soon as it arrives, so the app can
+# show the overall score and each criterion while the rest is still being generated.
+FEEDBACK_CRITERIA = {
+    "impact": ["Quantifying Impact", "Action Verb Use", "Accomplishments", "Repetition"],
+    "brevity": ["Length", "Filler Words", "Total Bullet Points", "Bullet Points Length"],
+    "style": ["Sections", "Personal Pronouns", "Buzzwords & Cliches", "Active Voice", "Consistency", "Date Order"],
+    "other": ["Spell Check", "Target My CV", "Rate CV Review"],
+}
+SECTION_SCORES = ["impact_score", "brevity_score", "style_score"]
+
+FEEDBACK_STREAM_PROMPT = """You are a professional career coach. Your task is to provide feedback on a resume based on a job description.
+Write your feedback as JSON Lines: exactly one complete JSON object per line, and nothing else (no code fences, no surrounding array).
+1. First line, the overall verdict (score 0 to 100):
+{"type": "overall_score", "score": 77, "justification": "..."}
+2. Then one line per criterion (score 0 to 10), in this order:
+""" + "\n".join(
+    f'{{"type": "criterion", "category": "{category}", "name": "{name}", "score": 7, "justification": "..."}}'
+    for category, names in FEEDBACK_CRITERIA.items() for name in names
+) + """
+3. Finally one line per section (score 0 to 100), derived from that section's criteria:
+""" + "\n".join(
+    f'{{"type": "section_score", "key": "{key}", "score": 75, "justification": "..."}}' for key in SECTION_SCORES
+)
+
+def parse_feedback_line(line):
+    """
+    Returns the event on one line of model output, or None if the line is not a valid event.
+    """
+    line = line.strip()
+    if not line.startswith("{"):
+        return None
+    try:
+        event = json.loads(line)
+        event["score"] = int(event["score"])
+    except (json.JSONDecodeError, KeyError, TypeError, ValueError):
+        return None
+    if event.get("type") == "overall_score":
+        event["key"] = "overall_score"
+    elif event.get("type") == "section_score":
+        if event.get("key") not in SECTION_SCORES:
+            return None
+    elif event.get("type") == "criterion":
+        if not event.get("category") or not event.get("name"):
+            return None
+    else:
+        return None
+    event["justification"] = str(event.get("justification", ""))
+    return event
+
+def apply_feedback_event(feedback, event):
+    """
+    Folds an event into the same nested structure /get_feedback returns.
+    """
+    result = {"score": event["score"], "justification": event["justification"]}
+    if event["type"] == "criterion":
+        feedback.setdefault("feedback", {}).setdefault(event["category"], {})[event["name"]] = result
+    else:
+        feedback[event["key"]] = result
+
+def feedback_events(feedback):
+    """
+    Replays finished feedback (e.g. from the memo) as stream events.
+    """
+    if "overall_score" in feedback:
+        yield {"type": "overall_score", "key": "overall_score", **feedback["overall_score"]}
+    for category, criteria in (feedback.get("feedback") or {}).items():
+        for name, result in criteria.items():
+            yield {"type": "criterion", "category": category, "name": name, **result}
+    for key in SECTION_SCORES:
+        if key in feedback:
+            yield {"type": "section_score", "key": key, **feedback[key]}
+
+def ndjson(event):
+    return json.dumps(event) + "\n"
+
+@app.route("/get_feedback/stream", methods=["POST"])
+def get_feedback_stream():
+    """
+    Same inputs and memo as /get_feedback, but streams the result as NDJSON events:
+    overall_score, criterion and section_score lines, then a final complete (or error) line.
+    """
+    job_id = request.form.get("job_id")
+    resume_hash, resume_bytes = resume_from_request()
+
+    if not job_id or not resume_hash:
+        return jsonify({"error": "Missing job_id or resume file."}), 400
+
+    job_desc = get_job_description_by_id(int(job_id))
+    if not job_desc:
+        return jsonify({"error": "Job not found."}), 404
+
+    headers = {"Cache-Control": "no-cache", "X-Accel-Buffering": "no"}
+
+    cached = load_cached_feedback(resume_hash, job_id)
+    if cached is not None:
+        def replay():
+            for event in feedback_events(cached):
+                yield ndjson(event)
+            yield ndjson({"type": "complete", "feedback": cached})
+        return Response(replay(), mimetype="application/x-ndjson", headers=headers)
+
+    resume_text = resume_text_for(resume_hash, resume_bytes)
+    if resume_text is None:
+        return resume_unknown()
+
+    def generate():
+        feedback = {}
+        pending = ""
+        try:
+            stream = client.chat.completions.create(
+                model="gpt-4.1-mini",
+                stream=True,
+                messages=[
+                    {"role": "system", "content": FEEDBACK_STREAM_PROMPT},
+                    {"role": "user", "content": f"Resume:\n{resume_text}\n\nJob Description:\n{job_desc}\n\nProvide the feedback as JSON Lines in the specified order."}
+                ]
+            )
+            for chunk in stream:
+                if not chunk.choices:
+                    continue
+                pending += chunk.choices[0].delta.content or ""
+                *lines, pending = pending.split("\n")
+                for line in lines:
+                    event = parse_feedback_line(line)
+                    if event:
+                        apply_feedback_event(feedback, event)
+                        yield ndjson(event)
+            event = parse_feedback_line(pending)
+            if event:
+                apply_feedback_event(feedback, event)
+                yield ndjson(event)
+
+            if "overall_score" not in feedback:
+                yield ndjson({"type": "error", "error": "The model did not return any feedback."})
+                return
+            save_cached_feedback(resume_hash, job_id, feedback)
+            yield ndjson({"type": "complete", "feedback": feedback})
+        except Exception as e:
+            yield ndjson({"type": "error", "error": f"An error occurred: {e}"})
+
+    return Response(stream_with_context(generate()), mimetype="application/x-ndjson", headers=headers)
+
+# Batch feedback: the resume is uploaded once to POST /resumes and referred to by its
+# content hash (the text cache entry), then POST /get_feedback/batch scores it against many jobs at once. Jobs are
+# scored on a worker pool shared by all requests, so the number of concurrent LLM calls stays
+# bounded however many batches are running, and each result is streamed as it finishes.
+FEEDBACK_WORKERS = 4
+MAX_BATCH_JOBS = 50
+feedback_pool = ThreadPoolExecutor(max_workers=FEEDBACK_WORKERS, thread_name_prefix="feedback")
+
+@app.route("/resumes", methods=["POST"])
+def store_resume():
+    """
+    Extracts an uploaded resume into the text cache and returns the SHA-256 of its bytes
+    as resume_id. Uploading the same file again is harmless and returns the same id.
+    """
+    file = request.files.get("resume")
+    if not file:
+        return jsonify({"error": "Missing resume file."}), 400
+
+    resume_bytes = file.read()
+    resume_id = hashlib.sha256(resume_bytes).hexdigest()
+    resume_text_for(resume_id, resume_bytes)
+    return jsonify({"resume_id": resume_id}), 201
+
+@app.route("/resumes/<resume_id>", methods=["GET"])
+def get_resume(resume_id):
+    """
+    Tells a client whether it can refer to a resume by hash or has to upload it.
+    """
+    if not SHA256_PATTERN.match(resume_id) or cached_resume_text(resume_id) is None:
+        return resume_unknown()
+    return jsonify({"resume_id": resume_id})
+
+def _score_job(resume_id, resume_text, job_id, job_desc):
+    feedback = request_feedback(resume_text, job_desc)
+    save_cached_feedback(resume_id, job_id, feedback)
+    return feedback
+
+@app.route("/get_feedback/batch", methods=["POST"])
+def get_feedback_batch():
+    """
+    Scores a cached resume against a list of jobs. Takes {"resume_id": ..., "job_ids": [...]}
+    and streams NDJSON events as jobs finish, in completion order:
+    {"type": "result", "job_id": 3, "feedback": {...}}, {"type": "job_error", "job_id": 3, "error": ...},
+    then a final {"type": "complete"}. Memoized results are sent first without an LLM call.
+    """
+    data = request.get_json(silent=True) or {}
+    resume_id = (data.get("resume_id") or "").lower()
+    job_ids = data.get("job_ids")
+
+    if not SHA256_PATTERN.match(resume_id):
+        return jsonify({"error": "Missing or invalid resume_id."}), 400
+    if not isinstance(job_ids, list) or not job_ids or not all(isinstance(j, int) for j in job_ids):
+        return jsonify({"error": "job_ids must be a non-empty list of integers."}), 400
+    if len(job_ids) > MAX_BATCH_JOBS:
+        return jsonify({"error": f"At most {MAX_BATCH_JOBS} jobs per batch."}), 400
+    resume_text = cached_resume_text(resume_id)
+    if resume_text is None:
+        return resume_unknown()
+
+    # Job descriptions are looked up here, inside the request, rather than on the workers
+    job_descs = {}
+    for job_id in dict.fromkeys(job_ids):
+        job_descs[job_id] = get_job_description_by_id(job_id)
+    headers = {"Cache-Control": "no-cache", "X-Accel-Buffering": "no"}
+
+    def generate():
+        futures = {}
+        try:
+            for job_id, job_desc in job_descs.items():
+                if not job_desc:
+                    yield ndjson({"type": "job_error", "job_id": job_id, "error": "Job not found."})
+                    continue
+                cached = load_cached_feedback(resume_id, job_id)
+                if cached is not None:
+                    yield ndjson({"type": "result", "job_id": job_id, "feedback": cached})
+                    continue
+                futures[feedback_pool.submit(_score_job, resume_id, resume_text, job_id, job_desc)] = job_id
+
+            for future in as_completed(futures):
+                job_id = futures[future]
+                try:
+                    feedback = future.result()
+                except Exception as e:
+                    yield ndjson({"type": "job_error", "job_id": job_id, "error": f"An error occurred: {e}"})
+                else:
+                    yield ndjson({"type": "result", "job_id": job_id, "feedback": feedback})
+            yield ndjson({"type": "complete"})
+        except Exception as e:
+            yield ndjson({"type": "error", "error": f"An error occurred: {e}"})
+        finally:
+            # The client went away or something failed: drop the jobs that have not started
+            for future in futures:
+                future.cancel()
+
+    return Response(stream_with_context(generate()), mimetype="application/x-ndjson", headers=headers)
+
 # Updated Endpoint for file upload tailoring
 @app.route("/upload", methods=["POST"])
 def upload_tailored_resume():
@@ -220,13 +644,23 @@ def upload_tailored_resume():
     if not job_id or not file:
         return jsonify({"error": "Missing job_id or resume file."}), 400
 
+    return tailor_resume_pdf(file, job_id)
+
+def tailor_resume_pdf(pdf_file, job_id):
+    """
+    Tailors an uploaded PDF resume (a path or file object) to the given job and
+    returns the resulting Word document.
+    """
     job_desc = get_job_description_by_id(int(job_id))
     if not job_desc:
         return jsonify({"error": "Job not found."}), 404
 
-    resume_text = ""
-    with pdfplumber.open(file) as pdf:
-        resume_text = " ".join([page.extract_text() for page in pdf.pages if page.extract_text()])
+    if isinstance(pdf_file, str):
+        with open(pdf_file, "rb") as f:
+            resume_bytes = f.read()
+    else:
+        resume_bytes = pdf_file.read()
+    resume_text = resume_text_for(hashlib.sha256(resume_bytes).hexdigest(), resume_bytes)
 
     try:
         response = client.chat.completions.create(
@@ -252,6 +686,206 @@ def upload_tailored_resume():
     except Exception as e:
         return jsonify({"error": f"An error occurred: {e}"}), 500
 
+# Resumable chunked uploads
+#
+# POST /upload/sessions               {filename, size, sha256, chunk_size} -> {upload_id, chunk_size, offset, size}
+#                                      or {complete: true, filename, size, sha256, offset} if already stored
+# GET  /upload/sessions/<id>           -> current acknowledged offset
+# PUT  /upload/sessions/<id>/chunks?offset=N   raw bytes, X-Chunk-SHA256 header
+# POST /upload/sessions/<id>/complete  optional job_id form field to tailor the assembled resume;
+#                                      400 if the assembled file is not a PDF
+#
+# Sessions live on disk as <id>.json (metadata) and <id>.part (verified bytes so far), so the
+# offset a client resumes from is simply the size of the .part file. Opening a session for a
+# file hash that already has one returns that session, letting a client resume after restarts.
+# A file that was already uploaded in full is reported as complete (offset == size) with its
+# stored filename, so nothing is sent again.
+UPLOAD_SESSION_DIR = "Upload Sessions"
+UPLOADED_RESUME_DIR = "Uploaded Resumes"
+DEFAULT_CHUNK_SIZE = 256 * 1024
+MAX_CHUNK_SIZE = 4 * 1024 * 1024
+MAX_UPLOAD_SIZE = 50 * 1024 * 1024
+SESSION_ID_PATTERN = re.compile(r"^[0-9a-f]{32}$")
+SHA256_PATTERN = re.compile(r"^[0-9a-f]{64}$")
+PDF_MAGIC = b"%PDF"
+upload_lock = threading.Lock()
+
+def _session_paths(upload_id):
+    return (os.path.join(UPLOAD_SESSION_DIR, upload_id + ".json"),
+            os.path.join(UPLOAD_SESSION_DIR, upload_id + ".part"))
+
+def _load_session(upload_id):
+    if not SESSION_ID_PATTERN.match(upload_id):
+        return None
+    meta_path, _ = _session_paths(upload_id)
+    try:
+        with open(meta_path, "r") as f:
+            return json.load(f)
+    except (FileNotFoundError, json.JSONDecodeError):
+        return None
+
+def _session_offset(upload_id):
+    _, part_path = _session_paths(upload_id)
+    return os.path.getsize(part_path) if os.path.exists(part_path) else 0
+
+def _session_status(session, status=200):
+    return jsonify({
+        "upload_id": session["upload_id"],
+        "chunk_size": session["chunk_size"],
+        "size": session["size"],
+        "offset": _session_offset(session["upload_id"]),
+    }), status
+
+def _file_sha256(path):
+    digest = hashlib.sha256()
+    with open(path, "rb") as f:
+        for block in iter(lambda: f.read(1024 * 1024), b""):
+            digest.update(block)
+    return digest.hexdigest()
+
+def _stored_upload(sha256, size):
+    """
+    Name of the completed upload with this content in UPLOADED_RESUME_DIR, or None.
+    """
+    prefix = sha256[:16] + "_"
+    if not os.path.isdir(UPLOADED_RESUME_DIR):
+        return None
+    for name in os.listdir(UPLOADED_RESUME_DIR):
+        path = os.path.join(UPLOADED_RESUME_DIR, name)
+        if name.startswith(prefix) and os.path.getsize(path) == size and _file_sha256(path) == sha256:
+            return name
+    return None
+
+@app.route("/upload/sessions", methods=["POST"])
+def create_upload_session():
+    """
+    Opens a chunked upload session, or returns the unfinished one for the same file.
+    A file the server already stores is answered with complete: true and no session.
+    """
+    data = request.get_json(silent=True) or {}
+    filename = secure_filename(data.get("filename") or "") or "uploaded_resume.pdf"
+    size = data.get("size")
+    sha256 = (data.get("sha256") or "").lower()
+    chunk_size = data.get("chunk_size") or DEFAULT_CHUNK_SIZE
+
+    if not isinstance(size, int) or size < 0 or size > MAX_UPLOAD_SIZE:
+        return jsonify({"error": "Invalid or too large file size."}), 400
+    if not SHA256_PATTERN.match(sha256):
+        return jsonify({"error": "Missing or invalid sha256."}), 400
+    if not isinstance(chunk_size, int) or chunk_size <= 0:
+        return jsonify({"error": "Invalid chunk_size."}), 400
+
+    with upload_lock:
+        stored_name = _stored_upload(sha256, size)
+        if stored_name:
+            return jsonify({
+                "complete": True,
+                "filename": stored_name,
+                "size": size,
+                "sha256": sha256,
+                "offset": size,
+            })
+
+        os.makedirs(UPLOAD_SESSION_DIR, exist_ok=True)
+        for name in os.listdir(UPLOAD_SESSION_DIR):
+            if name.endswith(".json"):
+                session = _load_session(name[:-len(".json")])
+                if session and session["sha256"] == sha256 and session["size"] == size:
+                    return _session_status(session)
+
+        session = {
+            "upload_id": uuid.uuid4().hex,
+            "filename": filename,
+            "size": size,
+            "sha256": sha256,
+            "chunk_size": min(chunk_size, MAX_CHUNK_SIZE),
+        }
+        meta_path, part_path = _session_paths(session["upload_id"])
+        open(part_path, "wb").close()
+        with open(meta_path, "w") as f:
+            json.dump(session, f)
+    return _session_status(session, 201)
+
+@app.route("/upload/sessions/<upload_id>", methods=["GET"])
+def get_upload_session(upload_id):
+    """
+    Reports how many bytes of the upload the server holds.
+    """
+    session = _load_session(upload_id)
+    if not session:
+        return jsonify({"error": "Unknown upload session."}), 404
+    return _session_status(session)
+
+@app.route("/upload/sessions/<upload_id>/chunks", methods=["PUT"])
+def put_upload_chunk(upload_id):
+    """
+    Appends one verified chunk at the given offset.
+    """
+    session = _load_session(upload_id)
+    if not session:
+        return jsonify({"error": "Unknown upload session."}), 404
+
+    offset = request.args.get("offset", type=int)
+    expected_hash = (request.headers.get("X-Chunk-SHA256") or "").lower()
+    chunk = request.get_data(cache=False)
+
+    if len(chunk) == 0 or len(chunk) > session["chunk_size"]:
+        return jsonify({"error": "Chunk is empty or larger than chunk_size."}), 400
+    if hashlib.sha256(chunk).hexdigest() != expected_hash:
+        return jsonify({"error": "Chunk checksum mismatch."}), 400
+
+    _, part_path = _session_paths(upload_id)
+    with upload_lock:
+        current = _session_offset(upload_id)
+        if offset != current:
+            return jsonify({"error": "Offset mismatch.", "offset": current}), 409
+        if current + len(chunk) > session["size"]:
+            return jsonify({"error": "Chunk runs past the declared size.", "offset": current}), 400
+        with open(part_path, "ab") as f:
+            f.write(chunk)
+            f.flush()
+            os.fsync(f.fileno())
+        return jsonify({"upload_id": upload_id, "offset": current + len(chunk)})
+
+@app.route("/upload/sessions/<upload_id>/complete", methods=["POST"])
+def complete_upload_session(upload_id):
+    """
+    Verifies the assembled file against the session's sha256, checks that it is a PDF and
+    stores it. With a job_id the stored resume is tailored to that job, as with /upload.
+    """
+    session = _load_session(upload_id)
+    if not session:
+        return jsonify({"error": "Unknown upload session."}), 404
+
+    meta_path, part_path = _session_paths(upload_id)
+    with upload_lock:
+        offset = _session_offset(upload_id)
+        if offset != session["size"]:
+            return jsonify({"error": "Upload is incomplete.", "offset": offset}), 409
+        if _file_sha256(part_path) != session["sha256"]:
+            # Verified chunks should make this impossible; start the upload over
+            os.remove(part_path)
+            os.remove(meta_path)
+            return jsonify({"error": "File checksum mismatch."}), 422
+        with open(part_path, "rb") as f:
+            is_pdf = f.read(len(PDF_MAGIC)) == PDF_MAGIC
+        if not is_pdf:
+            # Resending the same bytes cannot help, so the session is dropped
+            os.remove(part_path)
+            os.remove(meta_path)
+            return jsonify({"error": "Uploaded file is not a PDF."}), 400
+
+        os.makedirs(UPLOADED_RESUME_DIR, exist_ok=True)
+        stored_name = f"{session['sha256'][:16]}_{session['filename']}"
+        stored_path = os.path.join(UPLOADED_RESUME_DIR, stored_name)
+        os.replace(part_path, stored_path)
+        os.remove(meta_path)
+
+    job_id = request.form.get("job_id")
+    if job_id:
+        return tailor_resume_pdf(stored_path, job_id)
+    return jsonify({"filename": stored_name, "size": session["size"], "sha256": session["sha256"]})
+
 # Updated Endpoint for JSON data tailoring
 @app.route("/submit_data", methods=["POST"])
 def submit_data():
@@ -338,7 +972,7 @@ Languages:
 @app.route("/test", methods=["GET"])
 def test_endpoint():
     """Simple test endpoint to verify backend is working"""
-    return jsonify({"status": "Backend is running!", "endpoints": ["/generate_resume", "/upload", "/get_feedback", "/submit_data"]})
+    return jsonify({"status": "Backend is running!", "endpoints": ["/generate_resume", "/upload", "/get_feedback", "/get_feedback/stream", "/get_feedback/batch", "/resumes", "/submit_data", "/list_resumes", "/jobs"]})
 
 # Integrated list_resumes route
 @app.route("/list_resumes", methods=["GET"])
@@ -367,11 +1001,23 @@ def list_resumes():
     docx_files = glob.glob(os.path.join(resume_directory, "*.docx"))
     
     # Combine the lists and get just the base filename.
-    available_resumes = [os.path.basename(f) for f in pdf_files + docx_files]
+    # Sorted so an unchanged directory always produces the same body, and so the same ETag.
+    available_resumes = sorted(os.path.basename(f) for f in pdf_files + docx_files)
 
     print("Available resumes:", available_resumes)
     # Return the list of files as a JSON response.
-    return jsonify({"available_resumes": available_resumes})
+    return conditional_json({"available_resumes": available_resumes})
+
+@app.route("/jobs", methods=["GET"])
+def list_jobs():
+    """
+    Serves the raw job listings. send_file derives the ETag from the file's mtime and size,
+    so clients that already hold the current listings get a 304.
+    """
+    return send_file(JOB_LISTINGS_PATH, mimetype="application/json", conditional=True, etag=True, max_age=0)
+
+# Loaded up front so the first request does not pay for parsing the catalog
+_load_job_index()
 
 if __name__ == "__main__":
     app.run(debug=True, host='0.0.0.0', port=5000)
\ No newline at end of file
@@ -0,0 +1,97 @@
+"""
+Local load test for the job lookup behind /get_feedback, /upload and /submit_data.
+
+Sends the same /get_feedback requests to the app twice, first with the original lookup
+(open job_listings.json, json.load it and scan for the id on every request) and then with
+the id index, and prints the per-request latency of each. Every request carries a
+resume_hash whose feedback is already memoized, so no PDF is parsed and no LLM is called:
+apart from Flask itself, the job lookup is all that is measured.
+
+Run from the backend virtualenv:
+    python load_test_jobs.py [--requests 2000] [--concurrency 8]
+"""
+import os
+import json
+import random
+import argparse
+import tempfile
+import threading
+import time
+from concurrent.futures import ThreadPoolExecutor
+
+os.chdir(os.path.dirname(os.path.abspath(__file__)))
+os.environ.setdefault("OPENAI_API_KEY", "load-test")  # Never used; every request is a memo hit
+
+import app as backend
+
+RESUME_HASH = "0" * 64
+
+def legacy_get_job_description_by_id(job_id):
+    """
+    The lookup as it was before the index, for comparison.
+    """
+    with open(backend.JOB_LISTINGS_PATH, "r") as f:
+        jobs = json.load(f)
+        for job in jobs:
+            if job.get("id") == job_id:
+                return json.dumps(job)
+    return None
+
+def run(label, job_ids, requests, concurrency):
+    local = threading.local()
+
+    def one(job_id):
+        client = getattr(local, "client", None)
+        if client is None:
+            client = local.client = backend.app.test_client()
+        start = time.perf_counter()
+        response = client.post("/get_feedback", data={"job_id": str(job_id), "resume_hash": RESUME_HASH})
+        elapsed = time.perf_counter() - start
+        if response.status_code != 200:
+            raise RuntimeError(f"job {job_id}: {response.status_code} {response.get_data(as_text=True)}")
+        return elapsed
+
+    ids = [random.choice(job_ids) for _ in range(requests)]
+    for job_id in ids[:20]:
+        one(job_id)  # Warm-up
+    started = time.perf_counter()
+    with ThreadPoolExecutor(max_workers=concurrency) as pool:
+        latencies = sorted(pool.map(one, ids))
+    wall = time.perf_counter() - started
+
+    def percentile(q):
+        return latencies[min(len(latencies) - 1, int(len(latencies) * q))] * 1000
+
+    mean = sum(latencies) / len(latencies) * 1000
+    print(f"{label:<10} {mean:>9.2f} {percentile(0.50):>9.2f} {percentile(0.95):>9.2f} "
+          f"{percentile(0.99):>9.2f} {requests / wall:>10.0f}")
+    return mean
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--requests", type=int, default=2000)
+    parser.add_argument("--concurrency", type=int, default=8)
+    args = parser.parse_args()
+
+    job_ids = list(backend._load_job_index().keys())
+    if not job_ids:
+        raise SystemExit(f"No jobs in {backend.JOB_LISTINGS_PATH}")
+
+    # Memoize feedback for every job in a scratch directory so no request reaches the LLM
+    backend.FEEDBACK_CACHE_DIR = tempfile.mkdtemp(prefix="feedback-load-test-")
+    for job_id in job_ids:
+        backend.save_cached_feedback(RESUME_HASH, job_id, {"overall_score": {"score": 50, "justification": ""}})
+
+    print(f"{len(job_ids)} jobs, {args.requests} requests, {args.concurrency} concurrent")
+    print(f"{'lookup':<10} {'mean ms':>9} {'p50 ms':>9} {'p95 ms':>9} {'p99 ms':>9} {'req/s':>10}")
+    indexed = backend.get_job_description_by_id
+    backend.get_job_description_by_id = legacy_get_job_description_by_id
+    try:
+        before = run("file scan", job_ids, args.requests, args.concurrency)
+    finally:
+        backend.get_job_description_by_id = indexed
+    after = run("index", job_ids, args.requests, args.concurrency)
+    print(f"Mean latency {before / after:.1f}x lower with the index")
+
+if __name__ == "__main__":
+    main()